@@ -301,13 +301,13 @@ public class Facade implements asteroids.part3.facade.IFacade {
 	@Override
 	public Set<? extends Ship> getWorldShips(World world) throws ModelException {
 		if (world == null) throw new ModelException("Querying list of ships in null world");
-		return (Set<? extends Ship>) world.getEntitiesOfType(Ship.class);
+		return world.getEntitiesOfType(Ship.class);
 	}
 
 	@Override
 	public Set<? extends Bullet> getWorldBullets(World world) throws ModelException {
 		if (world == null) throw new ModelException("Querying list of bullets in null world");
-		return (Set<? extends Bullet>) world.getEntitiesOfType(Bullet.class);
+		return world.getEntitiesOfType(Bullet.class);
 	}
 
 	@Override
@@ -460,7 +460,7 @@ public class Facade implements asteroids.part3.facade.IFacade {
 
 	@Override
 	public Set<? extends Object> getEntities(World world) throws ModelException {
-		return world.getEntities();
+		return new HashSet<Entity>(world.getEntities());
 	}
 
 
@@ -486,7 +486,7 @@ public class Facade implements asteroids.part3.facade.IFacade {
 
 	@Override
 	public Set<? extends Asteroid> getWorldAsteroids(World world) throws ModelException {
-		return (Set<? extends Asteroid>) world.getEntitiesOfType(Asteroid.class);	
+		return world.getEntitiesOfType(Asteroid.class);	
 	}
 
 
@@ -505,7 +505,7 @@ public class Facade implements asteroids.part3.facade.IFacade {
 
 	@Override
 	public Set<? extends Planetoid> getWorldPlanetoids(World world) throws ModelException {
-		return (Set<? extends Planetoid>) world.getEntitiesOfType(Planetoid.class);
+		return world.getEntitiesOfType(Planetoid.class);
 	}
 
 
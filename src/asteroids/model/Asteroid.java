@@ -98,7 +98,7 @@ public class Asteroid extends MinorPlanet {
 	public void setRadius(double radius) throws IllegalArgumentException {
 		if (! isValidRadius(radius))  
 			throw new IllegalArgumentException("Non valid radius when initializing bullet");
-		this.radius = radius;
+		registerRadius(radius);
 	}
 
 	/**
@@ -130,80 +130,37 @@ public class Asteroid extends MinorPlanet {
 
 	
 	/**
-	 *	Resolves a collision between this Asteroid and another entity
-	 * 	@param	entity
-	 * 			The entity that will collide with this Asteroid.
-	 *	@post	If the given entity is instance of an Asteroid, the two asteroids will bounce off each other.
-	 *			|	if (entity instanceof Asteroid)
-	 *			|  		see implementation
-	 *	@post	If the given entity is instance of a Planetoid, the asteroid and plantetoid will bounce off each other.
-	 *			|if (entity instanceof Planetoid)
-	 *			|		see implementation
-	 *	@post	If the given entity is instance of Ship, the ship will be finalized.
-	 *			| if (entity instanceof Ship)
-	 *			|		entity.finalize()
-	 *	@post	If the entity is not instance of a MinorPlanet Ship or Bullet, the entity will call his own collideWith method.
-	 *			| if (entity is not instanceof {MinorPlanet, Ship, Bullet})
-	 *			| 		entity.collideWith(this)
+	 *	Resolves a collision between this asteroid and a minor planet.
+	 * 	@param	planet
+	 * 			The minor planet that will collide with this asteroid.
+	 *	@effect	The asteroid and the minor planet will bounce off each other.
+	 *			| ImpulseSolver.bounce(this, getMass(), planet, planet.getMass())
 	 */
-	@Override
-	public void collideWith(Entity entity) {
-		if (entity instanceof Asteroid) {
-			Asteroid asteroid1 = this;
-			Asteroid asteroid2 = (Asteroid) entity;
-			
-			 
-			double deltaVX = asteroid2.getXVelocity() - asteroid1.getXVelocity();
-			double deltaVY = asteroid2.getYVelocity() - asteroid1.getYVelocity();
-			double deltaRX = asteroid2.getXCoordinate() - asteroid1.getXCoordinate();
-			double deltaRY = asteroid2.getYCoordinate() - asteroid1.getYCoordinate();
-			double sigma = Math.sqrt(Math.pow(asteroid1.getXCoordinate()-asteroid2.getXCoordinate(), 2) + Math.pow(asteroid1.getYCoordinate()-asteroid2.getYCoordinate(), 2));
-			
-			double J = (2*asteroid1.getMass()*asteroid2.getMass()*(deltaVX * deltaRX + deltaVY * deltaRY))/(sigma*(asteroid1.getMass()+asteroid2.getMass()));
-			double Jx = J*deltaRX/sigma;
-			double Jy = J*deltaRY/sigma;
-			
-			asteroid1.setXVelocity(asteroid1.getXVelocity() + (Jx/asteroid1.getMass()));
-			asteroid1.setYVelocity(asteroid1.getYVelocity() + (Jy/asteroid1.getMass()));
-			
-			asteroid2.setXVelocity(asteroid2.getXVelocity() - (Jx/asteroid2.getMass()));
-			asteroid2.setYVelocity(asteroid2.getYVelocity() - (Jy/asteroid2.getMass()));
-			return;
-		}
-		else if (entity instanceof Planetoid) {
-			Asteroid asteroid1 = this;
-			Planetoid planetoid2 = (Planetoid) entity;
-			
-			 
-			double deltaVX = planetoid2.getXVelocity() - asteroid1.getXVelocity();
-			double deltaVY = planetoid2.getYVelocity() - asteroid1.getYVelocity();
-			double deltaRX = planetoid2.getXCoordinate() - asteroid1.getXCoordinate();
-			double deltaRY = planetoid2.getYCoordinate() - asteroid1.getYCoordinate();
-			double sigma = Math.sqrt(Math.pow(asteroid1.getXCoordinate()-planetoid2.getXCoordinate(), 2) + Math.pow(asteroid1.getYCoordinate()-planetoid2.getYCoordinate(), 2));
-			
-			double J = (2*asteroid1.getMass()*planetoid2.getMass()*(deltaVX * deltaRX + deltaVY * deltaRY))/(sigma*(asteroid1.getMass()+planetoid2.getMass()));
-			double Jx = J*deltaRX/sigma;
-			double Jy = J*deltaRY/sigma;
-			
-			asteroid1.setXVelocity(asteroid1.getXVelocity() + (Jx/asteroid1.getMass()));
-			asteroid1.setYVelocity(asteroid1.getYVelocity() + (Jy/asteroid1.getMass()));
-			
-			planetoid2.setXVelocity(planetoid2.getXVelocity() - (Jx/planetoid2.getMass()));
-			planetoid2.setYVelocity(planetoid2.getYVelocity() - (Jy/planetoid2.getMass()));
-			return;
-		}
-		else if (entity instanceof Ship) {
-			entity.finalize();
-			return;
-		}
-		else if (entity instanceof Bullet) {
-			entity.finalize();
-			finalize();
-			return;
-		}
-		else {
-			entity.collideWith(this);
-		}
-		
+	void collideWithMinorPlanet(MinorPlanet planet) {
+		ImpulseSolver.bounce(this, getMass(), planet, planet.getMass());
+	}
+	
+	/**
+	 *	Resolves a collision between this asteroid and a ship.
+	 * 	@param	ship
+	 * 			The ship that will collide with this asteroid.
+	 *	@post	The ship will be finalized.
+	 *			| ship.finalize()
+	 */
+	void collideWithShip(Ship ship) {
+		ship.finalize();
+	}
+	
+	/**
+	 *	Resolves a collision between this asteroid and a bullet.
+	 * 	@param	bullet
+	 * 			The bullet that will collide with this asteroid.
+	 *	@post	The bullet and the asteroid will be finalized.
+	 *			| bullet.finalize()
+	 *			| finalize()
+	 */
+	void collideWithBullet(Bullet bullet) {
+		bullet.finalize();
+		finalize();
 	}
 }
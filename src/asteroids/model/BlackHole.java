@@ -1,195 +1,211 @@
-package asteroids.model;
-
-import be.kuleuven.cs.som.annotate.Basic;
-import be.kuleuven.cs.som.annotate.Immutable;
-import be.kuleuven.cs.som.annotate.Raw;
-
-/**
- * 	Class representing a black hole with some properties. A black hole may shrink or grow over time. They do not have a velocity or a mass.
- * 
- * @version	1.0
- * @author	Tom De Backer and Quinten Bruynseraede
- * 
- *  @invar	The radius of this black hole will always be a valid radius for a black hole.
- *  		| isValidRadius(getRadius())
- *  @invar	The velocity of this black hole will always be zero.
- *  		| getXVelocity == 0 && getYVelocity == 0
- *  @invar	| canHaveAsWorld(getWorld())
- *
- */
-
-public class BlackHole extends Entity {
-
-	/**
-	 * Initialize a new black hole with given x and y coordinate and a radius.
-	 * 
-	 * @param 	x
-	 * 			The x coordinate for this new black hole.
-	 * @param 	y
-	 * 			The y coordinate for this new black hole.
-	 * @param 	radius
-	 * 			The radius for this new black hole.
-	 * @effect	Initializes this black hole as an Entity with a position and radius.
-	 * 			| super(x, y, radius)
-	 */
-	public BlackHole(double x, double y, double radius) {
-		super(x, y, 0, 0, radius);
-	}
-
-
-	/**
-	 * Constant registering the lowest possible value for the radius of a black hole.
-	 */
-	private static final double RADIUSLOWERBOUND = 100;
-	
-	
-	/**
-	 * Returns the lowest minimum value for the radius of a black hole.
-	 */
-	@Override
-	@Basic
-	@Immutable
-	public double getRadiusLowerBound() {
-		return RADIUSLOWERBOUND;
-	}
-
-	
-	/**
-	 * Returns whether a given radius is a valid radius for a black hole.
-	 * @param 	radius
-	 * 			The given radius to check.
-	 * @return	True if and only if the velocity is greater than the minimum value specified for a black hole's radius.
-	 * 			| result == radius > getRadiusLowerBound() && Double.isFinite(radius) && !Double.isNaN(radius)
-	 */
-	@Override
-	@Raw
-	public boolean isValidRadius(double radius) {
-		return (radius > getRadiusLowerBound() && Double.isFinite(radius) && !Double.isNaN(radius));
-	}
-
-	/**
-	 * Sets the radius for this black hole.
-	 * @param 	radius
-	 * 			The new radius for this black hole.
-	 * @post	| if (isValidRadius(radius))
-	 * 			| 	new.radius = radius
-	 * @throws	IllegalArgumentException
-	 * 			| !isValidRadius(radius)
-	 */
-	@Override
-	@Raw
-	public void setRadius(double radius) throws IllegalArgumentException {
-		if (isValidRadius(radius)) 
-			this.radius = radius;
-		else 
-			throw new IllegalArgumentException("Non valid radius.");	
-	}
-
-	/**
-	 * Updates the position of the black hole according to its velocity.
-	 * As black holes cannot have a velocity, the state of the game doesn't change.
-	 */
-	@Override
-	public void advance(double deltaTime) {
-		return;
-	}
-
-
-	/**
-	 * Finalizes the black hole, preparing it to be removed by the garbage collector.
-	 * @post	| this.getWorld().removeEntity(this)
-	 * @post	| new.finalized == true
-	 */
-	@Override
-	public void finalize() {
-		this.getWorld().removeEntity(this);
-		this.finalized = true;
-	}
-
-
-	/**
-	 * 	Returns whether it is possible to set this black hole to the world specified as a parameter.
-	 * 	@param 	world
-	 * 			The world to check whether, the black hole can be positioned in it or not.
-	 * 	@see 	implementation
-	 * 	@throws	IllegalArgumentException
-	 * 			If the black hole does not overlap with a ship, minorplanet or another blackhole and the black hole can be positioned in the given world.
-	 *  @note	This method utilizes the notion of significant overlap, and as such an overlap smaller than 1% of this enitity's radius will be tolerated.
-	 */
-	@Raw
-	@Override
-	public boolean canHaveAsWorld(World world) throws IllegalArgumentException {
-		for (Entity e : world.getEntities()) { //Overlap
-			if (overlap(e) && e != this && !(e instanceof Bullet))
-				return false;
-		}
-		
-		return ( getXCoordinate()  >= 0.99*getRadius()  //Within bounds
-				&& getXCoordinate() <= world.getWidth() - 0.99*getRadius() 
-				&& getYCoordinate() >= 0.99 * getRadius()
-				&& getYCoordinate() < world.getHeight() - 0.99 * getRadius());	
-	}
-
-
-	/**
-	 * 	Resolves a collision between this Black Hole and another entity
-	 * 	@param	entity
-	 * 			The entity that will collide with this black hole.
-	 * 	@post	If the given entity is instance of a Minorplanet, the minorplanet will be finalized.
-	 * 			| if(entity instanceof MinorPlanet)
-	 *			| 		entity.isFinalized() == true
-	 *	@post	If the given entity is instance of a Ship, the ship will be finalized.
-	 * 			| if(entity instanceof Ship)
-	 *			| 		entity.isFinalized() == true;
-	 *	@post	If the given entity is instance of a Bullet, there is no effect.
-	 *			| if (entity instanceof Bullet)
-	 *			|		return;
-	 * 	@post	If the given entity is instance of a BlackHole, both holes are destroyed and replaced with a new black hole whose
-	 *			center is at the point of collision and whose radius is equal to the sum of the radii of both
-	 *			colliding black holes. Say B is the newly created black hole
-	 *			| if (entity instanceof BlackHole)
-	 *			|		(new.getWorld()).getEntities() = getWorld().getEntities() + 1
-	 *			| 		B.getXCoordinate() == getCollisionPosition(entity)[0]
-	 *			|		B.getYCoordinate() == getCollisionPosition(entity)[1]
-	 *			|		B.getRadius() == this.getRadius() + entity.getRadius()
-	 *			|		B.getWorld() == getWorld()
-	 *			|		entity.isFinalized() == true
-	 *			|		this.isFinalized() == true
-	 */
-	@Override
-	public void collideWith(Entity entity) {
-		if (entity instanceof MinorPlanet)
-			entity.finalize();
-		else if (entity instanceof Ship)
-			entity.finalize();
-		else if (entity instanceof Bullet)
-			return;
-		else if (entity instanceof BlackHole) {
-			double newX = getCollisionPosition(entity)[0];
-			double newY = getCollisionPosition(entity)[1];
-			double newRadius = this.getRadius() + entity.getRadius();
-			
-			World w = getWorld();
-			w.removeEntity(entity);
-			w.removeEntity(this);
-			
-			w.addEntity(new BlackHole(newX, newY, newRadius));
-			
-			entity.finalize();
-			this.finalize();
-		}
-		else
-			entity.collideWith(this);
-	}
-	
-	/**
-	 * Returns a string representation of a black hole.
-	 * 
-	 * @return	A string representation of a black hole.
-	 */
-	@Override
-	@Raw
-	public String toString() {
-		return "[BlackHole] " + this.hashCode();
-	}
-}
+package asteroids.model;
+
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Immutable;
+import be.kuleuven.cs.som.annotate.Raw;
+
+/**
+ * 	Class representing a black hole with some properties. A black hole may shrink or grow over time. They do not have a velocity or a mass.
+ * 
+ * @version	1.0
+ * @author	Tom De Backer and Quinten Bruynseraede
+ * 
+ *  @invar	The radius of this black hole will always be a valid radius for a black hole.
+ *  		| isValidRadius(getRadius())
+ *  @invar	The velocity of this black hole will always be zero.
+ *  		| getXVelocity == 0 && getYVelocity == 0
+ *  @invar	| canHaveAsWorld(getWorld())
+ *
+ */
+
+public class BlackHole extends Entity {
+
+	/**
+	 * Initialize a new black hole with given x and y coordinate and a radius.
+	 * 
+	 * @param 	x
+	 * 			The x coordinate for this new black hole.
+	 * @param 	y
+	 * 			The y coordinate for this new black hole.
+	 * @param 	radius
+	 * 			The radius for this new black hole.
+	 * @effect	Initializes this black hole as an Entity with a position and radius.
+	 * 			| super(x, y, radius)
+	 */
+	public BlackHole(double x, double y, double radius) {
+		super(x, y, 0, 0, radius);
+	}
+
+
+	/**
+	 * Constant registering the lowest possible value for the radius of a black hole.
+	 */
+	private static final double RADIUSLOWERBOUND = 100;
+	
+	
+	/**
+	 * Returns the lowest minimum value for the radius of a black hole.
+	 */
+	@Override
+	@Basic
+	@Immutable
+	public double getRadiusLowerBound() {
+		return RADIUSLOWERBOUND;
+	}
+
+	
+	/**
+	 * Returns whether a given radius is a valid radius for a black hole.
+	 * @param 	radius
+	 * 			The given radius to check.
+	 * @return	True if and only if the velocity is greater than the minimum value specified for a black hole's radius.
+	 * 			| result == radius > getRadiusLowerBound() && Double.isFinite(radius) && !Double.isNaN(radius)
+	 */
+	@Override
+	@Raw
+	public boolean isValidRadius(double radius) {
+		return (radius > getRadiusLowerBound() && Double.isFinite(radius) && !Double.isNaN(radius));
+	}
+
+	/**
+	 * Sets the radius for this black hole.
+	 * @param 	radius
+	 * 			The new radius for this black hole.
+	 * @post	| if (isValidRadius(radius))
+	 * 			| 	new.radius = radius
+	 * @effect	| if (isValidRadius(radius) && getWorld() != null)
+	 * 			|	getWorld().updateEntity(this)
+	 * @throws	IllegalArgumentException
+	 * 			| !isValidRadius(radius)
+	 */
+	@Override
+	@Raw
+	public void setRadius(double radius) throws IllegalArgumentException {
+		if (isValidRadius(radius)) {
+			registerRadius(radius);
+			if (getWorld() != null)
+				getWorld().updateEntity(this);
+		}
+		else 
+			throw new IllegalArgumentException("Non valid radius.");	
+	}
+
+	/**
+	 * Updates the position of the black hole according to its velocity.
+	 * As black holes cannot have a velocity, the state of the game doesn't change.
+	 */
+	@Override
+	public void advance(double deltaTime) {
+		return;
+	}
+	
+	/**
+	 * Returns whether advancing this black hole only moves it along its velocity.
+	 * @return	| result == true
+	 * @note	Black holes do not move, so they are never advanced by their world.
+	 */
+	@Override
+	boolean isInertial() {
+		return true;
+	}
+	
+	/**
+	 * Returns whether this black hole never moves.
+	 * @return	| result == true
+	 */
+	@Override
+	boolean isStatic() {
+		return true;
+	}
+
+
+	/**
+	 * Finalizes the black hole, preparing it to be removed by the garbage collector.
+	 * @post	| if (getWorld() != null)
+	 * 			|	this.getWorld().removeEntity(this)
+	 * @post	| new.finalized == true
+	 */
+	@Override
+	public void finalize() {
+		if (this.getWorld() != null)
+			this.getWorld().removeEntity(this);
+		this.finalized = true;
+	}
+
+
+	/**
+	 * 	Returns whether it is possible to set this black hole to the world specified as a parameter.
+	 * 	@param 	world
+	 * 			The world to check whether, the black hole can be positioned in it or not.
+	 * 	@see 	implementation
+	 * 	@throws	IllegalArgumentException
+	 * 			If the black hole does not overlap with a ship, minorplanet or another blackhole and the black hole can be positioned in the given world.
+	 *  @note	This method utilizes the notion of significant overlap, and as such an overlap smaller than 1% of this enitity's radius will be tolerated.
+	 */
+	@Raw
+	@Override
+	public boolean canHaveAsWorld(World world) throws IllegalArgumentException {
+		for (Entity e : world.getEntities()) { //Overlap
+			if (overlap(e) && e != this && !(e instanceof Bullet))
+				return false;
+		}
+		
+		return ( getXCoordinate()  >= 0.99*getRadius()  //Within bounds
+				&& getXCoordinate() <= world.getWidth() - 0.99*getRadius() 
+				&& getYCoordinate() >= 0.99 * getRadius()
+				&& getYCoordinate() < world.getHeight() - 0.99 * getRadius());	
+	}
+
+
+	/**
+	 * 	Resolves a collision between this black hole and an entity it swallows.
+	 * 	@param	entity
+	 * 			The minor planet or ship that will collide with this black hole.
+	 * 	@post	The given entity will be finalized.
+	 *			| entity.isFinalized() == true
+	 */
+	void swallow(Entity entity) {
+		entity.finalize();
+	}
+	
+	/**
+	 * 	Resolves a collision between this black hole and another black hole.
+	 * 	@param	blackHole
+	 * 			The black hole that will collide with this black hole.
+	 * 	@post	Both holes are destroyed and replaced with a new black hole whose center is at the point of collision
+	 *			and whose radius is equal to the sum of the radii of both colliding black holes. Say B is the newly
+	 *			created black hole
+	 *			| (new.getWorld()).getEntities() = getWorld().getEntities() + 1
+	 *			| B.getXCoordinate() == getCollisionPosition(blackHole)[0]
+	 *			| B.getYCoordinate() == getCollisionPosition(blackHole)[1]
+	 *			| B.getRadius() == this.getRadius() + blackHole.getRadius()
+	 *			| B.getWorld() == getWorld()
+	 *			| blackHole.isFinalized() == true
+	 *			| this.isFinalized() == true
+	 */
+	void collideWithBlackHole(BlackHole blackHole) {
+		double newX = getCollisionPosition(blackHole)[0];
+		double newY = getCollisionPosition(blackHole)[1];
+		double newRadius = this.getRadius() + blackHole.getRadius();
+		
+		World w = getWorld();
+		w.removeEntity(blackHole);
+		w.removeEntity(this);
+		
+		w.addEntity(new BlackHole(newX, newY, newRadius));
+		
+		blackHole.finalize();
+		this.finalize();
+	}
+	
+	/**
+	 * Returns a string representation of a black hole.
+	 * 
+	 * @return	A string representation of a black hole.
+	 */
+	@Override
+	@Raw
+	public String toString() {
+		return "[BlackHole] " + this.hashCode();
+	}
+}
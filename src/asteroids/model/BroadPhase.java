@@ -0,0 +1,73 @@
+package asteroids.model;
+
+import java.util.List;
+
+/**
+ * An interface for broad-phases: structures used to find the entities of a world that may collide with a given
+ * entity before a given moment in time, so that only those have to be tested exactly.
+ * Static entities are not registered in a broad-phase, but candidates can be found for them.
+ *
+ * @version	1.0
+ * @author 	Tom De Backer and Quinten Bruynseraede
+ */
+interface BroadPhase {
+
+	/**
+	 * Returns the absolute world time until which collisions are searched for.
+	 */
+	double getHorizon();
+
+	/**
+	 * Registers all entities of the world that are not static again, searching for collisions until a given horizon.
+	 * @param 	horizon
+	 * 			The absolute world time until which collisions will be searched for.
+	 * @post	| new.getHorizon() == horizon
+	 */
+	void rebuild(double horizon);
+
+	/**
+	 * Registers a given entity, or registers it again using its current position and motion.
+	 * @param 	entity
+	 * 			The entity to register.
+	 */
+	void add(Entity entity);
+
+	/**
+	 * Registers a given entity again if its registration no longer covers its future motion.
+	 * @param 	entity
+	 * 			The entity to check.
+	 */
+	void update(Entity entity);
+
+	/**
+	 * Removes a given entity.
+	 * @param 	entity
+	 * 			The entity to remove.
+	 */
+	void remove(Entity entity);
+
+	/**
+	 * Returns a list of entities containing at least every entity that may collide with a given entity before
+	 * the horizon.
+	 * @param 	entity
+	 * 			The entity to find candidates for.
+	 * @return	| for each Entity e in entity.getWorld().getEntities():
+	 * 			|	if (e != entity && !e.isStatic() && e.getTimeToCollision(entity) < getHorizon() - world.getTime())
+	 * 			|		result.contains(e)
+	 * @note	The result may contain entities that will not collide with the given entity before the horizon.
+	 * 			The given entity itself does not have to be registered.
+	 */
+	List<Entity> getCandidates(Entity entity);
+
+	/**
+	 * Returns a list of entities containing at least every registered entity that currently overlaps with
+	 * a given entity.
+	 * @param 	entity
+	 * 			The entity to find overlapping entities for.
+	 * @return	| for each Entity e in entity.getWorld().getEntities():
+	 * 			|	if (e != entity && !e.isStatic() && e.overlap(entity))
+	 * 			|		result.contains(e)
+	 * @note	The given entity itself does not have to be registered.
+	 */
+	List<Entity> getOverlapCandidates(Entity entity);
+}
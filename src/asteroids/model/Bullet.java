@@ -199,11 +199,13 @@ public class Bullet extends Entity {
 	 * @param 	loaded
 	 * 		  	Whether this bullet is loaded or not.
 	 * @post	new.isBulletLoaded() == loaded
+	 * @effect	| inertiaChanged()
 	 */
 	@Basic
 	@Raw
 	public void setLoaded(boolean loaded) {
 		this.isLoaded = loaded;
+		inertiaChanged();
 	}
 	
 	/**
@@ -256,7 +258,7 @@ public class Bullet extends Entity {
 	@Override
 	public void setRadius(double radius) throws IllegalArgumentException{
 		if (isValidRadius(radius))
-			this.radius = radius;
+			registerRadius(radius);
 		else
 			throw new IllegalArgumentException("Non valid radius.");
 	}
@@ -293,6 +295,16 @@ public class Bullet extends Entity {
 			move(deltaTime);
 		}	
 	}
+	
+	/**
+	 * Returns whether advancing this bullet only moves it along its velocity.
+	 * @return	| result == !isLoaded()
+	 * @note	A loaded bullet follows the ship it is loaded on.
+	 */
+	@Override
+	boolean isInertial() {
+		return !isLoaded();
+	}
 
 	
 	/**
@@ -328,51 +340,48 @@ public class Bullet extends Entity {
 
 	
 	/**
-	 *  Resolves a collision between this bullet and another entity
-	 * 	@param	entity
-	 * 			The entity that will collide with this bullet.
-	 *	@post	If the given entity is instance of a Ship and this bullet is a child of that ship, the bullet will be reloaded to his parent and the bounces will be set to 0..
-	 * 			| if (entity instanceof Ship) && (entity == getParent())
-	 *			|		((Ship) entity).addBulletToLoaded(this)
+	 *  Resolves a collision between this bullet and another bullet.
+	 * 	@param	bullet
+	 * 			The bullet that will collide with this bullet.
+	 *	@post	Both bullets will be finalized.
+	 *			| bullet.finalize()
+	 *			| finalize()
+	 */
+	void collideWithBullet(Bullet bullet) {
+		bullet.finalize();
+		this.finalize();
+	}
+	
+	/**
+	 *  Resolves a collision between this bullet and a ship.
+	 * 	@param	ship
+	 * 			The ship that will collide with this bullet.
+	 *	@post	If this bullet is a child of the given ship, the bullet will be reloaded to his parent and the bounces will be set to 0.
+	 * 			| if (ship == getParent())
+	 *			|		ship.addBulletToLoaded(this)
 	 *			|		setLoaded(true)
 	 *			|		getWorld().removeEntity(this)
 	 *			|		setWorld(null)
 	 *			|		resetBounces()
-	 *	@post	If the given entity is instance of a Ship and this bullet is not a child of that ship, the ship and bullet will be finalized.
-	 *			|if (entity instanceof Ship) && (entity != getParent())
-	 *			|		entity.finalize()
-	 *			|		finalize()
-	 *	@post	If the given entity is instance of MinorPlanet, the minor planet and bullet will be finalized.
-	 *			| if (entity instanceof MinorPlanet)
-	 *			|		entity.finalize()
+	 *	@post	If this bullet is not a child of the given ship, the ship and bullet will be finalized.
+	 *			| if (ship != getParent())
+	 *			|		ship.finalize()
 	 *			|		finalize()
-	 *	@post	If the entity is not instance of a MinorPlanet, Ship or Bullet, the entity will call his own collideWith method.
-	 *			| if(!entity instanceof {MinorPlanet, Ship, Bullet})
-	 *			| 		entity.collideWith(this)
 	 */
-	@Override
-	public void collideWith(Entity entity) {
-		if (entity instanceof Bullet) {
-			entity.finalize();
-			this.finalize();
+	void collideWithShip(Ship ship) {
+		if (ship == getParent()) {
+			ship.addBulletToLoaded(this);
+			setLoaded(true);
+			getWorld().removeEntity(this);
+			setWorld(null);
+			resetBounces();
+			setXCoordinate(ship.getXCoordinate());
+			setYCoordinate(ship.getYCoordinate());
 		}
-		else if (entity instanceof Ship) {
-			if (entity == getParent()) {
-				((Ship) entity).addBulletToLoaded(this);
-				setLoaded(true);
-				getWorld().removeEntity(this);
-				setWorld(null);
-				resetBounces();
-				setXCoordinate(entity.getXCoordinate());
-				setYCoordinate(entity.getYCoordinate());
-			}
-			else {
-				entity.finalize();
-				finalize();
-			}	
+		else {
+			ship.finalize();
+			finalize();
 		}
-		else
-			entity.collideWith(this);
 	}
 	
 	/**
@@ -0,0 +1,225 @@
+package asteroids.model;
+
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Immutable;
+import be.kuleuven.cs.som.annotate.Raw;
+
+/**
+ * A class of predicted collisions between an entity and another entity, or between an entity and
+ * a boundary of its world.
+ *
+ * @version	1.0
+ * @author 	Tom De Backer and Quinten Bruynseraede
+ *
+ * @invar	The first entity of this collision is never null.
+ * 			| getFirstEntity() != null
+ */
+public class Collision implements Comparable<Collision> {
+
+	/**
+	 * Creates a new collision between two entities, or between an entity and a boundary.
+	 * @param 	time
+	 * 			The absolute world time at which this collision takes place.
+	 * @param 	entity1
+	 * 			The first entity involved in this collision.
+	 * @param 	entity2
+	 * 			The second entity involved in this collision, or null for a boundary collision.
+	 * @param 	stamp1
+	 * 			The invalidation stamp of the first entity at the moment of prediction.
+	 * @param 	stamp2
+	 * 			The invalidation stamp of the second entity at the moment of prediction.
+	 * @param 	sequence
+	 * 			The sequence number of this prediction, used to order simultaneous collisions.
+	 * @throws 	IllegalArgumentException
+	 * 			| entity1 == null
+	 */
+	@Raw
+	Collision(double time, Entity entity1, Entity entity2, int stamp1, int stamp2, long sequence) throws IllegalArgumentException {
+		if (entity1 == null)
+			throw new IllegalArgumentException("A collision involves at least one entity.");
+		this.time = time;
+		this.timeToCollision = Double.NaN;
+		this.entity1 = entity1;
+		this.entity2 = entity2;
+		this.stamp1 = stamp1;
+		this.stamp2 = stamp2;
+		this.sequence = sequence;
+		this.position = null;
+	}
+
+	/**
+	 * Creates the result of a search for the next collision in a world.
+	 * @param 	now
+	 * 			The absolute world time at which the search took place.
+	 * @param 	timeToCollision
+	 * 			The time from the search until this collision.
+	 * @param 	entity1
+	 * 			The first entity involved in this collision.
+	 * @param 	entity2
+	 * 			The second entity involved in this collision, or null for a boundary collision.
+	 * @param 	position
+	 * 			The position of this collision, or null if it is not known.
+	 * @post	| new.getTime() == now + timeToCollision
+	 * @post	| new.getTimeToCollision() == timeToCollision
+	 * @throws 	IllegalArgumentException
+	 * 			| entity1 == null
+	 */
+	@Raw
+	Collision(double now, double timeToCollision, Entity entity1, Entity entity2, double[] position) throws IllegalArgumentException {
+		if (entity1 == null)
+			throw new IllegalArgumentException("A collision involves at least one entity.");
+		this.time = now + timeToCollision;
+		this.timeToCollision = timeToCollision;
+		this.entity1 = entity1;
+		this.entity2 = entity2;
+		this.stamp1 = 0;
+		this.stamp2 = 0;
+		this.sequence = 0;
+		this.position = (position == null) ? null : position.clone();
+	}
+
+	/**
+	 * Variable registering the absolute world time at which this collision takes place.
+	 */
+	private final double time;
+
+	/**
+	 * Variable registering the time from the search for this collision until this collision.
+	 */
+	private final double timeToCollision;
+
+	/**
+	 * Variable registering the position of this collision. Null if it is not known.
+	 */
+	private final double[] position;
+
+	/**
+	 * Variable registering the first entity involved in this collision.
+	 */
+	private final Entity entity1;
+
+	/**
+	 * Variable registering the second entity involved in this collision. Null for boundary collisions.
+	 */
+	private final Entity entity2;
+
+	/**
+	 * Variables registering the invalidation stamps of both entities at the moment of prediction.
+	 */
+	private final int stamp1, stamp2;
+
+	/**
+	 * Variable registering the sequence number of this prediction.
+	 */
+	private final long sequence;
+
+	/**
+	 * Returns the absolute world time at which this collision takes place.
+	 */
+	@Basic
+	@Immutable
+	public double getTime() {
+		return this.time;
+	}
+
+	/**
+	 * Returns the time from the search for this collision until this collision, or NaN if this collision
+	 * was predicted by a collision queue.
+	 */
+	@Basic
+	@Immutable
+	public double getTimeToCollision() {
+		return this.timeToCollision;
+	}
+
+	/**
+	 * Returns the position of this collision, or null if it is not known.
+	 */
+	@Basic
+	@Immutable
+	public double[] getPosition() {
+		return (this.position == null) ? null : this.position.clone();
+	}
+
+	/**
+	 * Returns the first entity involved in this collision.
+	 */
+	@Basic
+	@Immutable
+	public Entity getFirstEntity() {
+		return this.entity1;
+	}
+
+	/**
+	 * Returns the second entity involved in this collision, or null if this is a boundary collision.
+	 */
+	@Basic
+	@Immutable
+	public Entity getSecondEntity() {
+		return this.entity2;
+	}
+
+	/**
+	 * Returns the invalidation stamp of the first entity at the moment of prediction.
+	 */
+	@Basic
+	@Immutable
+	int getFirstStamp() {
+		return this.stamp1;
+	}
+
+	/**
+	 * Returns the invalidation stamp of the second entity at the moment of prediction.
+	 */
+	@Basic
+	@Immutable
+	int getSecondStamp() {
+		return this.stamp2;
+	}
+
+	/**
+	 * Returns whether this collision is a collision between an entity and a boundary.
+	 * @return	| result == (getSecondEntity() == null)
+	 */
+	public boolean isBoundaryCollision() {
+		return getSecondEntity() == null;
+	}
+
+	/**
+	 * Returns the type of this collision.
+	 * @return	| if (isBoundaryCollision())
+	 * 			|	result == Constants.BOUNDARYCOLLISION
+	 * 			| else
+	 * 			|	result == Constants.ENTITYCOLLISION
+	 */
+	public int getType() {
+		return isBoundaryCollision() ? Constants.BOUNDARYCOLLISION : Constants.ENTITYCOLLISION;
+	}
+
+	/**
+	 * Compares this collision to another collision, ordering by time first and by order of prediction second.
+	 * @param	other
+	 * 			The collision to compare with.
+	 * @return	| if (getTime() != other.getTime())
+	 * 			|	result == Double.compare(getTime(), other.getTime())
+	 * 			| else
+	 * 			|	result == Long.compare(sequence, other.sequence)
+	 */
+	@Override
+	public int compareTo(Collision other) {
+		int result = Double.compare(getTime(), other.getTime());
+		if (result != 0)
+			return result;
+		return Long.compare(this.sequence, other.sequence);
+	}
+
+	/**
+	 * Returns a string representation of a collision.
+	 *
+	 * @return	A string representation of a collision.
+	 */
+	@Override
+	public String toString() {
+		return "[Collision] " + getFirstEntity() + " " + (isBoundaryCollision() ? "[Boundary]" : getSecondEntity()) + " @ " + getTime();
+	}
+}
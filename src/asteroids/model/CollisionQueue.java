@@ -0,0 +1,339 @@
+package asteroids.model;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Raw;
+
+/**
+ * A class of event queues holding the predicted collisions of all entities in a world, ordered by time.
+ *
+ * Every entity in the world is given an invalidation stamp. Each predicted collision remembers the stamps
+ * its entities had at the moment of prediction. Whenever the motion of an entity changes, the entity receives
+ * a new stamp and only its own collisions are predicted again. Outdated predictions are never searched for
+ * in the queue; they are skipped lazily once they reach its head.
+ *
+ * @version	1.0
+ * @author 	Tom De Backer and Quinten Bruynseraede
+ *
+ * @invar	Every collision returned by this queue was predicted using the current stamps of its entities.
+ * 			| isValidCollision(getNextCollision())
+ */
+class CollisionQueue {
+
+	/**
+	 * Creates a new, empty collision queue for a given world.
+	 * @param 	world
+	 * 			The world whose collisions are kept in this queue.
+	 * @post	| new.getWorld() == world
+	 */
+	@Raw
+	CollisionQueue(World world) {
+		this.world = world;
+	}
+
+	/**
+	 * Variable registering the world whose collisions are kept in this queue.
+	 */
+	private final World world;
+
+	/**
+	 * Returns the world whose collisions are kept in this queue.
+	 */
+	@Basic
+	World getWorld() {
+		return this.world;
+	}
+
+	/**
+	 * Arrays receiving the slots of the candidates of the entity whose collisions are predicted, and the time until
+	 * its collision with each of them.
+	 */
+	private int[] others = new int[16];
+	private double[] times = new double[16];
+
+	/**
+	 * Priority queue holding all predicted collisions, including outdated ones.
+	 */
+	private final PriorityQueue<Collision> collisions = new PriorityQueue<Collision>();
+
+	/**
+	 * Map registering, for each entity with up to date predictions, the stamp and version it was predicted with.
+	 */
+	private final Map<Entity, Prediction> predictions = new HashMap<Entity, Prediction>();
+
+	/**
+	 * Set registering the entities whose collisions have to be predicted again.
+	 */
+	private final Set<Entity> invalidated = new LinkedHashSet<Entity>();
+
+	/**
+	 * Variable registering the last stamp handed out by this queue.
+	 */
+	private int stamp = 0;
+
+	/**
+	 * Variable registering the number of collisions predicted by this queue, used to order simultaneous collisions.
+	 */
+	private long sequence = 0;
+
+	/**
+	 * Discards all predictions and predicts the collisions of every entity in the world again.
+	 * @effect	| for each Entity e in getWorld().getEntities()
+	 * 			|	invalidate(e)
+	 * @effect	| update()
+	 * @note	The broad-phase of the world is expected to be up to date for every entity.
+	 */
+	void rebuild() {
+		collisions.clear();
+		predictions.clear();
+		invalidated.clear();
+		invalidated.addAll(getWorld().getEntities());
+		update(false);
+	}
+
+	/**
+	 * Marks the predictions of a given entity as outdated.
+	 * @param 	entity
+	 * 			The entity whose collisions have to be predicted again.
+	 * @note	The collisions of the entity are only predicted again on the next invocation of update().
+	 */
+	void invalidate(Entity entity) {
+		invalidated.add(entity);
+	}
+
+	/**
+	 * Forgets about a given entity. All collisions predicted for this entity become outdated.
+	 * @param 	entity
+	 * 			The entity that was removed from the world.
+	 */
+	void remove(Entity entity) {
+		predictions.remove(entity);
+		invalidated.remove(entity);
+	}
+
+	/**
+	 * Predicts the collisions of all invalidated entities, and of all entities whose motion changed since
+	 * their collisions were last predicted.
+	 * @note	An entity's motion changes when its version changes: when its position, velocity or radius is set.
+	 * @effect	| for each Entity e whose collisions are predicted again:
+	 * 			|	getWorld().updateEntity(e)
+	 */
+	void update() {
+		update(true);
+	}
+
+	/**
+	 * Predicts the collisions of all invalidated entities, and of all entities whose motion changed since
+	 * their collisions were last predicted.
+	 * @param 	refresh
+	 * 			Whether the entities have to be registered in the broad-phase of the world again before predicting.
+	 */
+	private void update(boolean refresh) {
+		//Only entities that were added or changed since the last update can have changed their motion.
+		for (Entity e : getWorld().getKinematics().pollChangedEntities()) {
+			Prediction prediction = predictions.get(e);
+			if (prediction == null || prediction.hasChanged(e))
+				invalidated.add(e);
+		}
+		if (invalidated.isEmpty())
+			return;
+
+		Set<Entity> outdated = new LinkedHashSet<Entity>();
+		for (Entity e : invalidated) {
+			if (getWorld().hasAsEntity(e)) {
+				predictions.put(e, new Prediction(e, ++stamp));
+				outdated.add(e);
+			}
+		}
+		invalidated.clear();
+
+		if (refresh) {
+			for (Entity e : outdated)
+				getWorld().updateEntity(e);
+		}
+
+		//Pairs of two outdated entities are predicted once, by the entity that is handled first.
+		for (Iterator<Entity> it = outdated.iterator(); it.hasNext();) {
+			Entity e = it.next();
+			it.remove();
+			predict(e, outdated);
+		}
+	}
+
+	/**
+	 * Predicts the collisions of a given entity with the boundaries of the world and with every other entity
+	 * that may reach it before the horizon of the broad-phase of the world.
+	 * @param 	entity
+	 * 			The entity whose collisions are predicted.
+	 * @param 	skip
+	 * 			The entities whose collisions with the given entity will be predicted later on.
+	 * @note	Overlapping entities are predicted to collide immediately. The times until the collisions with all
+	 * 			candidates are computed in one invocation of KinematicStore.getFirstCollision.
+	 */
+	private void predict(Entity entity, Set<Entity> skip) {
+		double now = getWorld().getTime();
+		int entityStamp = predictions.get(entity).stamp;
+
+		KinematicStore kinematics = getWorld().getKinematics();
+		int slot = entity.getSlot();
+		double timeToBoundary = entity.isStatic() ? Double.POSITIVE_INFINITY : kinematics.getTimeFirstCollisionBoundary(slot);
+		if (timeToBoundary < Double.POSITIVE_INFINITY)
+			collisions.add(new Collision(now + timeToBoundary, entity, null, entityStamp, 0, sequence++));
+
+		List<Entity> candidates = getWorld().getCollisionCandidates(entity);
+		if (others.length < candidates.size()) {
+			others = new int[2 * candidates.size()];
+			times = new double[2 * candidates.size()];
+		}
+		int count = 0;
+		for (Entity other : candidates) {
+			if (other != entity && !skip.contains(other) && predictions.containsKey(other))
+				others[count++] = other.getSlot();
+		}
+		kinematics.getFirstCollision(slot, others, count, times);
+		for (int k = 0; k < count; k++) {
+			//Overlapping entities have no time of impact, and collide immediately.
+			double timeToCollision = Double.isNaN(times[k]) ? 0 : times[k];
+			if (timeToCollision < Double.POSITIVE_INFINITY) {
+				Entity other = kinematics.getEntity(others[k]);
+				collisions.add(new Collision(now + timeToCollision, entity, other, entityStamp,
+						predictions.get(other).stamp, sequence++));
+			}
+		}
+	}
+
+	/**
+	 * Returns whether a given collision was predicted using the current stamps of its entities.
+	 * @param 	collision
+	 * 			The collision to check.
+	 * @return	| if (collision == null)
+	 * 			|	result == true
+	 */
+	boolean isValidCollision(Collision collision) {
+		if (collision == null)
+			return true;
+		Prediction first = predictions.get(collision.getFirstEntity());
+		if (first == null || first.stamp != collision.getFirstStamp())
+			return false;
+		if (collision.isBoundaryCollision())
+			return true;
+		Prediction second = predictions.get(collision.getSecondEntity());
+		return (second != null && second.stamp == collision.getSecondStamp());
+	}
+
+	/**
+	 * Returns the first collision in this queue that is not outdated, or null if there is no such collision.
+	 * Outdated collisions encountered at the head of the queue are discarded.
+	 */
+	Collision getNextCollision() {
+		while (!collisions.isEmpty()) {
+			Collision next = collisions.peek();
+			if (isValidCollision(next))
+				return next;
+			collisions.poll();
+		}
+		return null;
+	}
+
+	/**
+	 * Constant registering the distance, expressed in kilometres, below which entities are considered to touch.
+	 * @see		Entity#overlap(Entity)
+	 */
+	private static final double CONTACTDISTANCE = 0.01;
+
+	/**
+	 * Discards a given collision, which was just resolved, and returns the next collision in this queue if it takes
+	 * place at the same moment and the motion of its entities did not change since it was predicted.
+	 * Collisions take place at the same moment if the entities of the next one are less than CONTACTDISTANCE
+	 * from touching at the time of the resolved one.
+	 * @param 	resolved
+	 * 			The collision that was resolved.
+	 * @return	| if (getNextCollision() == null)
+	 * 			|	result == null
+	 * @note	The collisions returned by consecutive invocations may be resolved together, as one batch.
+	 * 			The given collision is expected to be at the head of this queue: no collisions are predicted
+	 * 			while resolving it.
+	 */
+	Collision getSimultaneousCollision(Collision resolved) {
+		if (collisions.peek() == resolved)
+			collisions.poll();
+		Collision next = getNextCollision();
+		if (next == null || hasChanged(next.getFirstEntity())
+				|| (!next.isBoundaryCollision() && hasChanged(next.getSecondEntity())))
+			return null;
+		if ((next.getTime() - resolved.getTime()) * getClosingSpeed(next) >= CONTACTDISTANCE)
+			return null;
+		return next;
+	}
+
+	/**
+	 * Returns the speed at which the entities of a given collision approach each other, or the boundary.
+	 * @param 	collision
+	 * 			The collision to check.
+	 * @return	The speed of the first entity relative to the second one, or to the world for a boundary collision.
+	 */
+	private static double getClosingSpeed(Collision collision) {
+		Entity first = collision.getFirstEntity();
+		double xVelocity = first.getXVelocity();
+		double yVelocity = first.getYVelocity();
+		if (!collision.isBoundaryCollision()) {
+			xVelocity -= collision.getSecondEntity().getXVelocity();
+			yVelocity -= collision.getSecondEntity().getYVelocity();
+		}
+		return Math.sqrt(xVelocity * xVelocity + yVelocity * yVelocity);
+	}
+
+	/**
+	 * Returns whether the motion of a given entity changed since its collisions were predicted.
+	 * @param 	entity
+	 * 			The entity to check.
+	 */
+	private boolean hasChanged(Entity entity) {
+		Prediction prediction = predictions.get(entity);
+		return prediction == null || prediction.hasChanged(entity);
+	}
+
+	/**
+	 * A class registering the stamp of an entity, together with the version its collisions were predicted with.
+	 */
+	private static class Prediction {
+
+		/**
+		 * Creates a new prediction record for a given entity.
+		 * @param 	entity
+		 * 			The entity whose collisions are predicted.
+		 * @param 	stamp
+		 * 			The stamp given to the entity.
+		 */
+		Prediction(Entity entity, int stamp) {
+			this.stamp = stamp;
+			this.version = entity.getVersion();
+		}
+
+		/**
+		 * Variable registering the stamp given to the entity.
+		 */
+		private final int stamp;
+
+		/**
+		 * Variable registering the version of the entity at the moment of prediction.
+		 */
+		private final long version;
+
+		/**
+		 * Returns whether the position, velocity or radius of a given entity changed since its collisions were predicted.
+		 * @param 	entity
+		 * 			The entity to check.
+		 */
+		boolean hasChanged(Entity entity) {
+			return entity.getVersion() != version;
+		}
+	}
+}
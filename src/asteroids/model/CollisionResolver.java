@@ -0,0 +1,25 @@
+package asteroids.model;
+
+/**
+ * An interface for resolvers of collisions between two entities of given kinds.
+ *
+ * @version	1.0
+ * @author 	Tom De Backer and Quinten Bruynseraede
+ *
+ * @param	<A>
+ * 			The kind of the first entity involved in the collision.
+ * @param	<B>
+ * 			The kind of the second entity involved in the collision.
+ */
+@FunctionalInterface
+public interface CollisionResolver<A extends Entity, B extends Entity> {
+
+	/**
+	 * Resolves a collision between two given entities.
+	 * @param 	first
+	 * 			The first entity involved in the collision.
+	 * @param 	second
+	 * 			The second entity involved in the collision.
+	 */
+	void resolve(A first, B second);
+}
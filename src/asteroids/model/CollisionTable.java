@@ -0,0 +1,163 @@
+package asteroids.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A class registering how collisions between entities of every pair of kinds are resolved.
+ *
+ * Every class of entities is given a kind ordinal the first time an entity of that class is created. Resolving a
+ * collision then takes a single lookup in a table indexed by the kinds of both entities. Resolvers are registered
+ * for pairs of classes, and apply to all their subclasses unless a more specific pair was registered as well.
+ * New kinds of entities can be plugged in by registering resolvers for them, without changing the other classes.
+ *
+ * @version	1.0
+ * @author 	Tom De Backer and Quinten Bruynseraede
+ */
+public final class CollisionTable {
+
+	/**
+	 * This class cannot be instantiated.
+	 */
+	private CollisionTable() {
+	}
+
+	/**
+	 * Resolver used for pairs of kinds for which no resolver was registered. Such entities pass through each other.
+	 */
+	private static final CollisionResolver<Entity, Entity> NONE = (first, second) -> {};
+
+	/**
+	 * Map registering the kind ordinal of every class of entities created so far.
+	 */
+	private static final Map<Class<?>, Integer> kinds = new HashMap<Class<?>, Integer>();
+
+	/**
+	 * List registering the class of entities of every kind ordinal.
+	 */
+	private static final List<Class<?>> classes = new ArrayList<Class<?>>();
+
+	/**
+	 * Map registering the resolvers registered for pairs of classes, indexed by the first and then the second class.
+	 */
+	private static final Map<Class<?>, Map<Class<?>, CollisionResolver<?, ?>>> registered =
+			new HashMap<Class<?>, Map<Class<?>, CollisionResolver<?, ?>>>();
+
+	/**
+	 * Table registering the resolver for every pair of kind ordinals, or null if it was not looked up yet.
+	 * The resolver for a pair of kinds accepts entities of the classes of these kinds as first and second argument.
+	 */
+	private static volatile CollisionResolver<?, ?>[][] table = new CollisionResolver<?, ?>[0][0];
+
+	/**
+	 * Registers the resolvers for the entities of this package.
+	 */
+	static {
+		register(Ship.class, Ship.class, Ship::collideWithShip);
+		register(Bullet.class, Bullet.class, Bullet::collideWithBullet);
+		register(Bullet.class, Ship.class, Bullet::collideWithShip);
+		register(Asteroid.class, MinorPlanet.class, Asteroid::collideWithMinorPlanet);
+		register(Asteroid.class, Ship.class, Asteroid::collideWithShip);
+		register(Asteroid.class, Bullet.class, Asteroid::collideWithBullet);
+		register(Planetoid.class, Ship.class, Planetoid::collideWithShip);
+		register(Planetoid.class, Planetoid.class, Planetoid::collideWithPlanetoid);
+		register(Planetoid.class, Bullet.class, Planetoid::collideWithBullet);
+		register(BlackHole.class, MinorPlanet.class, BlackHole::swallow);
+		register(BlackHole.class, Ship.class, BlackHole::swallow);
+		register(BlackHole.class, Bullet.class, (blackHole, bullet) -> {});
+		register(BlackHole.class, BlackHole.class, BlackHole::collideWithBlackHole);
+	}
+
+	/**
+	 * Registers how collisions between entities of two given classes, or of subclasses of them, are resolved.
+	 * Collisions in which the entity of the second class comes first are resolved by the same resolver, with its
+	 * arguments swapped.
+	 * @param 	first
+	 * 			The class of the first entity given to the resolver.
+	 * @param 	second
+	 * 			The class of the second entity given to the resolver.
+	 * @param 	resolver
+	 * 			The resolver to register.
+	 * @throws	IllegalArgumentException
+	 * 			| first == null || second == null || resolver == null
+	 */
+	public static synchronized <A extends Entity, B extends Entity> void register(Class<A> first, Class<B> second,
+			CollisionResolver<? super A, ? super B> resolver) throws IllegalArgumentException {
+		if (first == null || second == null || resolver == null)
+			throw new IllegalArgumentException("Invalid collision resolver.");
+		registered.computeIfAbsent(first, c -> new HashMap<Class<?>, CollisionResolver<?, ?>>()).put(second, resolver);
+		if (first != second) {
+			CollisionResolver<B, A> swapped = (e2, e1) -> resolver.resolve(e1, e2);
+			registered.computeIfAbsent(second, c -> new HashMap<Class<?>, CollisionResolver<?, ?>>()).put(first, swapped);
+		}
+		table = new CollisionResolver<?, ?>[classes.size()][classes.size()];
+	}
+
+	/**
+	 * Returns the kind ordinal of a given class of entities, giving it a new one if it has none yet.
+	 * @param 	c
+	 * 			The class to return the kind ordinal of.
+	 */
+	static synchronized int getKind(Class<? extends Entity> c) {
+		Integer kind = kinds.get(c);
+		if (kind != null)
+			return kind;
+		kind = classes.size();
+		kinds.put(c, kind);
+		classes.add(c);
+		CollisionResolver<?, ?>[][] old = table;
+		CollisionResolver<?, ?>[][] grown = new CollisionResolver<?, ?>[kind + 1][kind + 1];
+		for (int i = 0; i < old.length; i++)
+			System.arraycopy(old[i], 0, grown[i], 0, old.length);
+		table = grown;
+		return kind;
+	}
+
+	/**
+	 * Resolves a collision between two given entities, using the resolver for the pair of their kinds.
+	 * @param 	first
+	 * 			The first entity involved in the collision.
+	 * @param 	second
+	 * 			The second entity involved in the collision.
+	 * @note	The resolver for the kinds of both entities was registered for superclasses of their classes, so it
+	 * 			accepts them as its first and second argument.
+	 */
+	@SuppressWarnings("unchecked")
+	static void resolve(Entity first, Entity second) {
+		CollisionResolver<?, ?>[][] t = table;
+		int k1 = first.getKind();
+		int k2 = second.getKind();
+		CollisionResolver<?, ?> resolver = (k1 < t.length && k2 < t.length) ? t[k1][k2] : null;
+		if (resolver == null)
+			resolver = lookup(k1, k2);
+		((CollisionResolver<Entity, Entity>) resolver).resolve(first, second);
+	}
+
+	/**
+	 * Returns the resolver registered for the most specific pair of classes matching two given kinds,
+	 * and remembers it in the table.
+	 * @param 	k1
+	 * 			The kind of the first entity involved in the collision.
+	 * @param 	k2
+	 * 			The kind of the second entity involved in the collision.
+	 */
+	private static synchronized CollisionResolver<?, ?> lookup(int k1, int k2) {
+		CollisionResolver<?, ?> resolver = NONE;
+		search:
+		for (Class<?> c1 = classes.get(k1); Entity.class.isAssignableFrom(c1); c1 = c1.getSuperclass()) {
+			Map<Class<?>, CollisionResolver<?, ?>> row = registered.get(c1);
+			if (row == null)
+				continue;
+			for (Class<?> c2 = classes.get(k2); Entity.class.isAssignableFrom(c2); c2 = c2.getSuperclass()) {
+				if (row.containsKey(c2)) {
+					resolver = row.get(c2);
+					break search;
+				}
+			}
+		}
+		table[k1][k2] = resolver;
+		return resolver;
+	}
+}
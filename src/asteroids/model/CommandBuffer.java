@@ -0,0 +1,164 @@
+package asteroids.model;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Raw;
+
+/**
+ * A class of buffers holding the entities to be added to or removed from a world, while the world is resolving
+ * collisions.
+ *
+ * Handlers of collisions add and remove entities while the world is resolving a batch of collisions. As long as
+ * the buffer is open, these changes are queued instead of being applied, so that the entities of the world and
+ * all structures kept for them stay unchanged during the batch. The queued changes are applied in the order in
+ * which they were made once the batch has been resolved.
+ *
+ * @version	1.0
+ * @author 	Tom De Backer and Quinten Bruynseraede
+ *
+ * @invar	A closed buffer holds no changes.
+ * 			| isOpen() || getSize() == 0
+ */
+class CommandBuffer {
+
+	/**
+	 * Creates a new, closed buffer for a given world.
+	 * @param 	world
+	 * 			The world whose changes are kept in this buffer.
+	 * @post	| !new.isOpen()
+	 */
+	@Raw
+	CommandBuffer(World world) {
+		this.world = world;
+	}
+
+	/**
+	 * Variable registering the world whose changes are kept in this buffer.
+	 */
+	private final World world;
+
+	/**
+	 * List registering the entities to be added or removed, in the order in which the changes were made.
+	 */
+	private final List<Entity> entities = new ArrayList<Entity>();
+
+	/**
+	 * List registering, for each queued change, whether its entity is to be added rather than removed.
+	 */
+	private final List<Boolean> additions = new ArrayList<Boolean>();
+
+	/**
+	 * Map registering the entities with a queued change, together with whether the last of them is an addition.
+	 */
+	private final Map<Entity, Boolean> pending = new IdentityHashMap<Entity, Boolean>();
+
+	/**
+	 * Variable registering whether changes are queued by this buffer.
+	 */
+	private boolean open = false;
+
+	/**
+	 * Returns whether changes are queued by this buffer.
+	 */
+	@Basic
+	boolean isOpen() {
+		return this.open;
+	}
+
+	/**
+	 * Returns the number of changes queued by this buffer.
+	 */
+	@Basic
+	int getSize() {
+		return entities.size();
+	}
+
+	/**
+	 * Starts queueing changes.
+	 * @post	| new.isOpen()
+	 */
+	void open() {
+		this.open = true;
+	}
+
+	/**
+	 * Returns whether a given entity is queued to be added to the world.
+	 * @param 	entity
+	 * 			The entity to check.
+	 */
+	boolean isAdding(Entity entity) {
+		return pending.get(entity) == Boolean.TRUE;
+	}
+
+	/**
+	 * Returns whether a given entity is queued to be removed from the world.
+	 * @param 	entity
+	 * 			The entity to check.
+	 */
+	boolean isRemoving(Entity entity) {
+		return pending.get(entity) == Boolean.FALSE;
+	}
+
+	/**
+	 * Queues the addition of a given entity to the world.
+	 * @param 	entity
+	 * 			The entity to add.
+	 */
+	void add(Entity entity) {
+		queue(entity, true);
+	}
+
+	/**
+	 * Queues the removal of a given entity from the world.
+	 * @param 	entity
+	 * 			The entity to remove.
+	 */
+	void remove(Entity entity) {
+		queue(entity, false);
+	}
+
+	/**
+	 * Queues a change for a given entity.
+	 */
+	private void queue(Entity entity, boolean addition) {
+		entities.add(entity);
+		additions.add(addition);
+		pending.put(entity, addition);
+	}
+
+	/**
+	 * Applies all queued changes to the world, in the order in which they were made, and stops queueing changes.
+	 * @effect	Consecutive additions are applied at once, and the entities that cannot be added are finalized.
+	 * 			| world.spawn(added)
+	 * @effect	Removals of entities that still belong to the world are applied.
+	 * 			| if (world.hasAsEntity(removed))
+	 * 			|	world.removeEntity(removed)
+	 * @post	| !new.isOpen() && new.getSize() == 0
+	 */
+	void apply() {
+		open = false;
+		List<Entity> added = new ArrayList<Entity>();
+		for (int i = 0; i < entities.size(); i++) {
+			Entity entity = entities.get(i);
+			if (additions.get(i)) {
+				added.add(entity);
+				continue;
+			}
+			if (!added.isEmpty()) {
+				world.spawn(added);
+				added.clear();
+			}
+			if (world.hasAsEntity(entity))
+				world.removeEntity(entity);
+		}
+		if (!added.isEmpty())
+			world.spawn(added);
+		entities.clear();
+		additions.clear();
+		pending.clear();
+	}
+}
@@ -29,4 +29,11 @@ public abstract class Constants {
 	**/
 	public final static int ENTITYCOLLISION = 2;
 	public final static int BOUNDARYCOLLISION = 1;
+	
+	/*
+	* Broad-phase types
+	**/
+	public final static int SPATIALHASHGRID = 1;
+	public final static int SWEEPANDPRUNE = 2;
+	public final static int AABBTREE = 3;
 }
@@ -0,0 +1,441 @@
+package asteroids.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Raw;
+
+/**
+ * A class of dynamic bounding volume trees of axis-aligned boxes, used to find the entities that may collide
+ * with a given entity before a given moment in time.
+ *
+ * Every entity is registered in a leaf with an enlarged ("fat") box, covering its straight-line motion over a
+ * multiple of the time left until the horizon. As long as the motion of an entity until the horizon stays within
+ * its fat box, the entity does not have to be registered again. Every inner node holds the smallest box containing
+ * the boxes of its children, and the tree is kept balanced by rotations, so queries take logarithmic time no
+ * matter how unevenly the entities are sized.
+ *
+ * @version	1.0
+ * @author 	Tom De Backer and Quinten Bruynseraede
+ *
+ * @invar	The box of every inner node contains the boxes of both its children.
+ * @invar	The heights of the children of every inner node differ by at most one after each modification.
+ */
+class DynamicAABBTree implements BroadPhase {
+
+	/**
+	 * Creates a new, empty tree for a given world.
+	 * @param 	world
+	 * 			The world whose entities are kept in this tree.
+	 */
+	@Raw
+	DynamicAABBTree(World world) {
+		this.world = world;
+	}
+
+	/**
+	 * Variable registering the world whose entities are kept in this tree.
+	 */
+	private final World world;
+
+	/**
+	 * Variable registering the absolute world time until which collisions are searched for.
+	 */
+	private double horizon = 0;
+
+	/**
+	 * Returns the absolute world time until which collisions are searched for.
+	 */
+	@Basic
+	@Override
+	public double getHorizon() {
+		return this.horizon;
+	}
+
+	/**
+	 * Constant registering by how much the time left until the horizon is multiplied to compute fat boxes.
+	 */
+	private static final double FATTENING = 4;
+
+	/**
+	 * Constant registering the fraction of the radius of an entity by which its fat box is enlarged on every side.
+	 */
+	private static final double MARGIN = 0.1;
+
+	/**
+	 * Variable registering the root of this tree.
+	 */
+	private Node root = null;
+
+	/**
+	 * Map registering the leaf of every entity in this tree.
+	 */
+	private final Map<Entity, Node> leaves = new HashMap<Entity, Node>();
+
+	/**
+	 * Set registering the entities whose motion until the horizon is not bounded. These are not kept in the tree.
+	 */
+	private final Set<Entity> unbounded = new LinkedHashSet<Entity>();
+
+	/**
+	 * Changes the horizon of this tree, registering only those entities again that left their fat boxes.
+	 */
+	@Override
+	public void rebuild(double horizon) {
+		this.horizon = horizon;
+		Set<Entity> entities = world.getEntities();
+		for (Entity e : new ArrayList<Entity>(leaves.keySet())) {
+			if (!entities.contains(e))
+				remove(e);
+		}
+		for (Entity e : new ArrayList<Entity>(unbounded)) {
+			if (!entities.contains(e))
+				remove(e);
+		}
+		for (Entity e : entities) {
+			if (e.isStatic())
+				continue;
+			if (leaves.containsKey(e) || unbounded.contains(e))
+				update(e);
+			else
+				add(e);
+		}
+	}
+
+	/**
+	 * Registers a given entity in a new leaf, or registers it again using its current position and motion.
+	 */
+	@Override
+	public void add(Entity entity) {
+		remove(entity);
+		SweptBounds fat = new SweptBounds(entity, getTimeLeft() * FATTENING, MARGIN * entity.getRadius() + 0.01);
+		if (!fat.isFinite()) {
+			unbounded.add(entity);
+			return;
+		}
+		Node leaf = new Node(fat);
+		leaves.put(entity, leaf);
+		insertLeaf(leaf);
+	}
+
+	/**
+	 * Registers a given entity again if its motion until the horizon is no longer contained in its fat box.
+	 */
+	@Override
+	public void update(Entity entity) {
+		Node leaf = leaves.get(entity);
+		if (leaf != null) {
+			if (!leaf.bounds.contains(new SweptBounds(entity, getTimeLeft())))
+				add(entity);
+		}
+		else if (unbounded.contains(entity) && new SweptBounds(entity, getTimeLeft()).isFinite())
+			add(entity);
+	}
+
+	/**
+	 * Removes the leaf of a given entity from this tree.
+	 */
+	@Override
+	public void remove(Entity entity) {
+		unbounded.remove(entity);
+		Node leaf = leaves.remove(entity);
+		if (leaf != null)
+			removeLeaf(leaf);
+	}
+
+	/**
+	 * Returns all entities whose fat boxes overlap with the motion of a given entity until the horizon.
+	 */
+	@Override
+	public List<Entity> getCandidates(Entity entity) {
+		SweptBounds b = new SweptBounds(entity, getTimeLeft());
+		if (!b.isFinite()) {
+			List<Entity> result = new ArrayList<Entity>(leaves.keySet());
+			result.addAll(unbounded);
+			result.remove(entity);
+			return result;
+		}
+		return query(b, entity);
+	}
+
+	/**
+	 * Returns all entities whose fat boxes overlap with the current position of a given entity.
+	 */
+	@Override
+	public List<Entity> getOverlapCandidates(Entity entity) {
+		SweptBounds b = new SweptBounds(entity, 0);
+		if (!b.isFinite()) {
+			List<Entity> result = new ArrayList<Entity>(leaves.keySet());
+			result.addAll(unbounded);
+			result.remove(entity);
+			return result;
+		}
+		return query(b, entity);
+	}
+
+	/**
+	 * Returns all entities other than a given entity whose fat boxes overlap with given bounds, together with all
+	 * unbounded entities.
+	 * @param 	b
+	 * 			The bounds to find overlapping entities for.
+	 * @param 	entity
+	 * 			The entity to leave out of the result.
+	 */
+	private List<Entity> query(SweptBounds b, Entity entity) {
+		List<Entity> result = new ArrayList<Entity>();
+		if (root != null) {
+			Deque<Node> stack = new ArrayDeque<Node>();
+			stack.push(root);
+			while (!stack.isEmpty()) {
+				Node node = stack.pop();
+				if (!node.overlaps(b))
+					continue;
+				if (node.isLeaf()) {
+					if (node.bounds.getEntity() != entity)
+						result.add(node.bounds.getEntity());
+				}
+				else {
+					stack.push(node.child1);
+					stack.push(node.child2);
+				}
+			}
+		}
+		for (Entity other : unbounded) {
+			if (other != entity)
+				result.add(other);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the time left until the horizon of this tree.
+	 */
+	private double getTimeLeft() {
+		return Math.max(0, getHorizon() - world.getTime());
+	}
+
+	/**
+	 * Inserts a given leaf into this tree, next to the node whose box grows least by including it.
+	 * @param 	leaf
+	 * 			The leaf to insert.
+	 */
+	private void insertLeaf(Node leaf) {
+		if (root == null) {
+			root = leaf;
+			leaf.parent = null;
+			return;
+		}
+
+		Node sibling = root;
+		while (!sibling.isLeaf()) {
+			double area = sibling.getPerimeter();
+			double combined = Node.getPerimeter(sibling, leaf);
+			double cost = 2 * combined;
+			double inheritance = 2 * (combined - area);
+			double cost1 = getDescentCost(sibling.child1, leaf) + inheritance;
+			double cost2 = getDescentCost(sibling.child2, leaf) + inheritance;
+			if (cost < cost1 && cost < cost2)
+				break;
+			sibling = (cost1 < cost2) ? sibling.child1 : sibling.child2;
+		}
+
+		Node oldParent = sibling.parent;
+		Node newParent = new Node();
+		newParent.parent = oldParent;
+		newParent.child1 = sibling;
+		newParent.child2 = leaf;
+		sibling.parent = newParent;
+		leaf.parent = newParent;
+		if (oldParent == null)
+			root = newParent;
+		else if (oldParent.child1 == sibling)
+			oldParent.child1 = newParent;
+		else
+			oldParent.child2 = newParent;
+		refit(newParent);
+	}
+
+	/**
+	 * Returns the cost of descending into a given node to insert a given leaf.
+	 */
+	private static double getDescentCost(Node node, Node leaf) {
+		if (node.isLeaf())
+			return Node.getPerimeter(node, leaf);
+		return Node.getPerimeter(node, leaf) - node.getPerimeter();
+	}
+
+	/**
+	 * Removes a given leaf from this tree, replacing its parent by its sibling.
+	 * @param 	leaf
+	 * 			The leaf to remove.
+	 */
+	private void removeLeaf(Node leaf) {
+		if (leaf == root) {
+			root = null;
+			return;
+		}
+		Node parent = leaf.parent;
+		Node grandParent = parent.parent;
+		Node sibling = (parent.child1 == leaf) ? parent.child2 : parent.child1;
+		if (grandParent == null) {
+			root = sibling;
+			sibling.parent = null;
+			return;
+		}
+		if (grandParent.child1 == parent)
+			grandParent.child1 = sibling;
+		else
+			grandParent.child2 = sibling;
+		sibling.parent = grandParent;
+		refit(grandParent);
+	}
+
+	/**
+	 * Balances a given node and all its ancestors, and recomputes their boxes and heights.
+	 * @param 	node
+	 * 			The lowest node to refit.
+	 */
+	private void refit(Node node) {
+		while (node != null) {
+			node = balance(node);
+			node.fit();
+			node = node.parent;
+		}
+	}
+
+	/**
+	 * Rotates the higher child of a given node up if the heights of its children differ by more than one.
+	 * @param 	a
+	 * 			The node to balance.
+	 * @return	The node that takes the place of the given node in this tree.
+	 */
+	private Node balance(Node a) {
+		if (a.isLeaf() || a.height < 2)
+			return a;
+		Node b = a.child1;
+		Node c = a.child2;
+		int balance = c.height - b.height;
+		if (balance > 1)
+			return rotate(a, c, true);
+		if (balance < -1)
+			return rotate(a, b, false);
+		return a;
+	}
+
+	/**
+	 * Rotates a given child of a given node up, so that the child takes the place of the node.
+	 * @param 	a
+	 * 			The node to rotate down.
+	 * @param 	up
+	 * 			The child of the node to rotate up.
+	 * @param 	second
+	 * 			Whether the child to rotate up is the second child of the node.
+	 * @return	| result == up
+	 */
+	private Node rotate(Node a, Node up, boolean second) {
+		Node f = up.child1;
+		Node g = up.child2;
+
+		up.child1 = a;
+		up.parent = a.parent;
+		a.parent = up;
+		if (up.parent == null)
+			root = up;
+		else if (up.parent.child1 == a)
+			up.parent.child1 = up;
+		else
+			up.parent.child2 = up;
+
+		//The higher grandchild stays with the rotated node, the lower one moves to the node rotated down.
+		Node kept = (f.height > g.height) ? f : g;
+		Node moved = (kept == f) ? g : f;
+		up.child2 = kept;
+		if (second)
+			a.child2 = moved;
+		else
+			a.child1 = moved;
+		moved.parent = a;
+		a.fit();
+		up.fit();
+		return up;
+	}
+
+	/**
+	 * A class of nodes of a dynamic bounding volume tree.
+	 */
+	private static class Node {
+
+		/**
+		 * Creates a new inner node.
+		 */
+		Node() {
+			this.bounds = null;
+		}
+
+		/**
+		 * Creates a new leaf with given fat bounds.
+		 * @param 	bounds
+		 * 			The fat bounds of the entity in this leaf.
+		 */
+		Node(SweptBounds bounds) {
+			this.bounds = bounds;
+			this.minX = bounds.getMinX();
+			this.maxX = bounds.getMaxX();
+			this.minY = bounds.getMinY();
+			this.maxY = bounds.getMaxY();
+		}
+
+		private final SweptBounds bounds;
+		private double minX, maxX, minY, maxY;
+		private Node parent, child1, child2;
+		private int height = 0;
+
+		/**
+		 * Returns whether this node is a leaf.
+		 */
+		boolean isLeaf() {
+			return bounds != null;
+		}
+
+		/**
+		 * Recomputes the box and height of this inner node from its children.
+		 */
+		void fit() {
+			minX = Math.min(child1.minX, child2.minX);
+			maxX = Math.max(child1.maxX, child2.maxX);
+			minY = Math.min(child1.minY, child2.minY);
+			maxY = Math.max(child1.maxY, child2.maxY);
+			height = 1 + Math.max(child1.height, child2.height);
+		}
+
+		/**
+		 * Returns whether the box of this node overlaps with given bounds.
+		 */
+		boolean overlaps(SweptBounds b) {
+			return minX <= b.getMaxX() && b.getMinX() <= maxX && minY <= b.getMaxY() && b.getMinY() <= maxY;
+		}
+
+		/**
+		 * Returns the perimeter of the box of this node.
+		 */
+		double getPerimeter() {
+			return 2 * ((maxX - minX) + (maxY - minY));
+		}
+
+		/**
+		 * Returns the perimeter of the smallest box containing the boxes of two given nodes.
+		 */
+		static double getPerimeter(Node first, Node second) {
+			double width = Math.max(first.maxX, second.maxX) - Math.min(first.minX, second.minX);
+			double height = Math.max(first.maxY, second.maxY) - Math.min(first.minY, second.minY);
+			return 2 * (width + height);
+		}
+	}
+}
@@ -64,12 +64,129 @@ public abstract class Entity {
 
 
 	/**
-	 * Variable registering the X coordinate of this entity expressed in kilometres.
+	 * Variable registering the kinematic store holding the state of this entity while it belongs to a world,
+	 * or null if this entity holds its own state.
+	 */
+	private KinematicStore store = null;
+	
+	/**
+	 * Variable registering the slot of this entity in its kinematic store.
+	 */
+	private int slot = -1;
+	
+	/**
+	 * Moves the kinematic state of this entity into a given store.
+	 * @param 	store
+	 * 			The store to move the state of this entity to.
+	 * @post	| new.getXCoordinate() == getXCoordinate() && new.getYCoordinate() == getYCoordinate()
+	 * @post	| new.getXVelocity() == getXVelocity() && new.getYVelocity() == getYVelocity()
+	 * @post	| new.getRadius() == getRadius()
+	 */
+	void attach(KinematicStore store) {
+		if (this.store != null)
+			detach();
+		this.slot = store.allocate(this, x, y, xVelocity, yVelocity, radius);
+		this.store = store;
+	}
+	
+	/**
+	 * Moves the kinematic state of this entity out of its store, back into this entity.
+	 * @post	| new.getXCoordinate() == getXCoordinate() && new.getYCoordinate() == getYCoordinate()
+	 * @post	| new.getXVelocity() == getXVelocity() && new.getYVelocity() == getYVelocity()
+	 * @post	| new.getRadius() == getRadius()
+	 */
+	void detach() {
+		if (store == null)
+			return;
+		x = store.getX(slot);
+		y = store.getY(slot);
+		xVelocity = store.xVelocity[slot];
+		yVelocity = store.yVelocity[slot];
+		radius = store.radius[slot];
+		store.release(slot);
+		store = null;
+		slot = -1;
+	}
+	
+	/**
+	 * Returns the slot of this entity in its kinematic store, or -1 if it holds its own state.
+	 */
+	@Basic
+	int getSlot() {
+		return slot;
+	}
+	
+	/**
+	 * Sets the slot of this entity in its kinematic store to a given slot.
+	 * @param 	slot
+	 * 			The new slot of this entity.
+	 */
+	void setSlot(int slot) {
+		this.slot = slot;
+	}
+	
+	/**
+	 * Variable registering the number of times the position, velocity or radius of this entity was changed,
+	 * other than by moving it along its velocity.
+	 */
+	private long version = 0;
+	
+	/**
+	 * Returns the number of times the position, velocity or radius of this entity was changed, other than by
+	 * moving it along its velocity.
+	 * @note	Moving an entity along its velocity does not change the moments at which it will collide, so
+	 * 			predictions made for this entity remain valid as long as its version does not change.
+	 */
+	@Basic
+	long getVersion() {
+		return version;
+	}
+	
+	/**
+	 * Registers a change of the position, velocity or radius of this entity.
+	 * @post	| new.getVersion() == getVersion() + 1
+	 */
+	private void changed() {
+		version++;
+		if (store != null)
+			store.changed(slot);
+	}
+	
+	/**
+	 * Returns whether advancing this entity only moves it along its velocity.
+	 * @return	| result == false
+	 * @note	The kinematic store of a world moves inertial entities all at once, without advancing them one by one.
+	 */
+	boolean isInertial() {
+		return false;
+	}
+	
+	/**
+	 * Returns whether this entity never moves.
+	 * @return	| result == false
+	 * @note	A world keeps its static entities apart from its other entities, and never tests two static entities
+	 * 			against each other for collisions.
+	 */
+	boolean isStatic() {
+		return false;
+	}
+	
+	/**
+	 * Registers a change of whether advancing this entity only moves it along its velocity.
+	 * @note	Subclasses whose entities stop or start being inertial call this method whenever isInertial() changes.
+	 */
+	void inertiaChanged() {
+		if (store != null)
+			store.setInertial(slot, isInertial());
+	}
+	
+	/**
+	 * Variable registering the X coordinate of this entity expressed in kilometres, while it holds its own state.
 	 */
 	private double x;
 	
 	/**
-	 * Variable registering the Y coordinate of this entity expressed in kilometres.
+	 * Variable registering the Y coordinate of this entity expressed in kilometres, while it holds its own state.
 	 */
 	private double y;
 	
@@ -79,7 +196,7 @@ public abstract class Entity {
 	 */
 	@Basic
 	public double getXCoordinate() {
-		return this.x;
+		return (store == null) ? this.x : store.getX(slot);
 	}
 	
 	/**
@@ -87,7 +204,7 @@ public abstract class Entity {
 	 */
 	@Basic
 	public double getYCoordinate() {
-		return this.y;
+		return (store == null) ? this.y : store.getY(slot);
 	}
 	
 	/**
@@ -102,10 +219,30 @@ public abstract class Entity {
 	 */
 	@Raw
 	protected void setXCoordinate(double x) throws IllegalArgumentException {
+		if (assignXCoordinate(x))
+			changed();
+	}
+	
+	/**
+	 * Sets the X coordinate of this entity to a given coordinate, without registering a change of its state.
+	 * @param 	x
+	 * 			The new X coordinate for this entity.
+	 * @return	Whether the X coordinate of this entity was changed.
+	 * @throws	IllegalArgumentException
+	 * 			| Double.isNaN(x)
+	 * @note	Used to move this entity along its velocity, which does not change its future motion.
+	 */
+	@Raw
+	private boolean assignXCoordinate(double x) throws IllegalArgumentException {
 		if (Double.isNaN(x))
 			throw new IllegalArgumentException("Non valid x");
-		if (isValidXCoordinate(x))
-			this.x = x;			
+		if (!isValidXCoordinate(x) || Double.compare(x, getXCoordinate()) == 0)
+			return false;
+		if (store == null)
+			this.x = x;
+		else
+			store.setX(slot, x);
+		return true;
 	}
 	
 	/**
@@ -120,11 +257,31 @@ public abstract class Entity {
 	 */
 	@Raw
 	protected void setYCoordinate(double y) throws IllegalArgumentException {
-		if (Double.isNaN(y)) 
+		if (assignYCoordinate(y))
+			changed();
+	}
+	
+	/**
+	 * Sets the Y coordinate of this entity to a given coordinate, without registering a change of its state.
+	 * @param 	y
+	 * 			The new Y coordinate for this entity.
+	 * @return	Whether the Y coordinate of this entity was changed.
+	 * @throws	IllegalArgumentException
+	 * 			| Double.isNaN(y)
+	 * @note	Used to move this entity along its velocity, which does not change its future motion.
+	 */
+	@Raw
+	private boolean assignYCoordinate(double y) throws IllegalArgumentException {
+		if (Double.isNaN(y))
 			throw new IllegalArgumentException("Non valid y");
-		if (isValidYCoordinate(y))
+		if (!isValidYCoordinate(y) || Double.compare(y, getYCoordinate()) == 0)
+			return false;
+		if (store == null)
 			this.y = y;
-		}
+		else
+			store.setY(slot, y);
+		return true;
+	}
 	
 	/**
 	 * Returns whether a given coordinate is a valid x coordinate in this world. 
@@ -153,12 +310,12 @@ public abstract class Entity {
 	}
 	
 	/**
-	 * Variable registering the X velocity of this entity expressed in kilometres per second.
+	 * Variable registering the X velocity of this entity expressed in kilometres per second, while it holds its own state.
 	 */
 	private double xVelocity;
 	
 	/**
-	 * Variable registering the Y velocity of this entity expressed in kilometres per second.
+	 * Variable registering the Y velocity of this entity expressed in kilometres per second, while it holds its own state.
 	 */
 	private double yVelocity;
 	
@@ -167,7 +324,7 @@ public abstract class Entity {
 	 */
 	@Basic
 	public double getXVelocity(){
-		return this.xVelocity;
+		return (store == null) ? this.xVelocity : store.xVelocity[slot];
 	}
 	
 	/**
@@ -175,7 +332,7 @@ public abstract class Entity {
 	 */
 	@Basic
 	public double getYVelocity(){
-		return this.yVelocity;
+		return (store == null) ? this.yVelocity : store.yVelocity[slot];
 	}
 	
 	/**
@@ -199,13 +356,18 @@ public abstract class Entity {
 	@Raw
 	protected void setXVelocity(double xVelocity){
 		if (!Double.isFinite(xVelocity))
-			this.xVelocity = 0;
+			xVelocity = 0;
 		else if (! isValidVelocity(xVelocity) && xVelocity < VELOCITYLOWERBOUND)
-			this.xVelocity = VELOCITYLOWERBOUND;
+			xVelocity = VELOCITYLOWERBOUND;
 		else if(! isValidVelocity(xVelocity) && xVelocity > VELOCITYUPPERBOUND)
-			this.xVelocity = VELOCITYUPPERBOUND;
-		else
+			xVelocity = VELOCITYUPPERBOUND;
+		if (Double.compare(xVelocity, getXVelocity()) == 0)
+			return;
+		if (store == null)
 			this.xVelocity = xVelocity;
+		else
+			store.setXVelocity(slot, xVelocity);
+		changed();
 	}
 	
 	/**
@@ -229,13 +391,18 @@ public abstract class Entity {
 	@Raw
 	protected void setYVelocity(double yVelocity){
 		if (!Double.isFinite(yVelocity))
-			this.yVelocity = 0;
+			yVelocity = 0;
 		else if (! isValidVelocity(yVelocity) && yVelocity < VELOCITYLOWERBOUND)
-			this.yVelocity = VELOCITYLOWERBOUND;
+			yVelocity = VELOCITYLOWERBOUND;
 		else if(! isValidVelocity(yVelocity) && yVelocity > VELOCITYUPPERBOUND)
-			this.yVelocity = VELOCITYUPPERBOUND;
-		else
+			yVelocity = VELOCITYUPPERBOUND;
+		if (Double.compare(yVelocity, getYVelocity()) == 0)
+			return;
+		if (store == null)
 			this.yVelocity = yVelocity;
+		else
+			store.setYVelocity(slot, yVelocity);
+		changed();
 	}
 	
 	/**
@@ -374,16 +541,16 @@ public abstract class Entity {
 		if (time < 0.000001 && time > -0.000001)
 			return;
 		else {
-			setXCoordinate(this.getXCoordinate() + time * this.getXVelocity());
-			setYCoordinate(this.getYCoordinate() + time * this.getYVelocity());
+			assignXCoordinate(this.getXCoordinate() + time * this.getXVelocity());
+			assignYCoordinate(this.getYCoordinate() + time * this.getYVelocity());
 		}
 	}
 	
 	
 	/**
-	 * Variable registering the radius of this planetoid.
+	 * Variable registering the radius of this entity, while it holds its own state.
 	 */
-	protected double radius;
+	private double radius;
 	
 	/**
 	 * Abstract function that returns whether a given radius is valid for an entity.
@@ -400,7 +567,25 @@ public abstract class Entity {
 	@Basic
 	@Raw
 	public double getRadius() {
-		return this.radius;
+		return (store == null) ? this.radius : store.radius[slot];
+	}
+	
+	/**
+	 * Registers a given radius as the radius of this entity, without checking its validity.
+	 * @param 	radius
+	 * 			The new radius of this entity.
+	 * @post	| new.getRadius() == radius
+	 * @note	Subclasses check the validity of the radius in setRadius(), before registering it.
+	 */
+	@Raw
+	protected void registerRadius(double radius) {
+		if (Double.compare(radius, getRadius()) == 0)
+			return;
+		if (store == null)
+			this.radius = radius;
+		else
+			store.radius[slot] = radius;
+		changed();
 	}
 	
 	/**
@@ -451,29 +636,9 @@ public abstract class Entity {
 		
 		Entity otherEntity = (Entity) other;
 		
-		double deltaVX = this.getXVelocity() - otherEntity.getXVelocity();
-		double deltaVY = this.getYVelocity() - otherEntity.getYVelocity();
-		double deltaX = this.getXCoordinate() - otherEntity.getXCoordinate();
-		double deltaY = this.getYCoordinate() - otherEntity.getYCoordinate();
-		
-		if ((deltaVX * deltaX) + (deltaVY * deltaY) >= 0)
-			return Double.POSITIVE_INFINITY;
-		
-		double radius1 = this.getRadius();
-		double radius2 = otherEntity.getRadius();
-			
-		double part1 = deltaVX * deltaX + deltaVY * deltaY;
-		double part2 = deltaVX * deltaVX + deltaVY * deltaVY;
-		double part3 = deltaX * deltaX + deltaY * deltaY - (radius1 + radius2) * (radius1 + radius2);
-		double d = part1 * part1 - part2 * part3;
-		
-		if (part2 == 0) {
-			return Double.POSITIVE_INFINITY;
-		}
-		if (d <= 0)
-			return Double.POSITIVE_INFINITY;
-		return -( (part1 + Math.sqrt(d)) / (part2) );
-		
+		return KinematicStore.getTimeToCollision(this.getXCoordinate() - otherEntity.getXCoordinate(),
+				this.getYCoordinate() - otherEntity.getYCoordinate(), this.getXVelocity() - otherEntity.getXVelocity(),
+				this.getYVelocity() - otherEntity.getYVelocity(), this.getRadius(), otherEntity.getRadius());
 	}
 	
 	
@@ -491,24 +656,8 @@ public abstract class Entity {
 	 */
 	public double getTimeFirstCollisionBoundary() {
 		if (getWorld() == null) return Double.POSITIVE_INFINITY;
-		double xTime = Double.POSITIVE_INFINITY;
-		double yTime = Double.POSITIVE_INFINITY;
-		
-		if (this.getXVelocity() > 0)
-			xTime  = (getWorld().getWidth() - getXCoordinate() - getRadius()) / getXVelocity();
-		if (this.getXVelocity() < 0)
-			xTime = - ( getXCoordinate() - getRadius()) / getXVelocity();
-		if (this.getXVelocity() == 0)
-			xTime = Double.POSITIVE_INFINITY;
-		
-		if (this.getYVelocity() > 0)
-			yTime = (getWorld().getHeight() - getYCoordinate()  -getRadius()) / getYVelocity();
-		if (this.getYVelocity() < 0)
-			yTime = - ( getYCoordinate() - getRadius()) / getYVelocity();
-		if (this.getYVelocity() == 0)
-			yTime = Double.POSITIVE_INFINITY;
-		
-		return Math.min(xTime, yTime);	
+		return KinematicStore.getTimeFirstCollisionBoundary(getXCoordinate(), getYCoordinate(), getXVelocity(),
+				getYVelocity(), getRadius(), getWorld().getWidth(), getWorld().getHeight());
 	}
 	
 		
@@ -556,7 +705,7 @@ public abstract class Entity {
 		
 		if (otherEntity == this)
 			return 0;
-		return Math.sqrt( Math.pow(this.getXCoordinate()-otherEntity.getXCoordinate(), 2) + Math.pow(this.getYCoordinate()-otherEntity.getYCoordinate(), 2) ) - (this.getRadius() + otherEntity.getRadius());
+		return KinematicStore.getDistanceBetween(this.getXCoordinate()-otherEntity.getXCoordinate(), this.getYCoordinate()-otherEntity.getYCoordinate(), this.getRadius(), otherEntity.getRadius());
 	}
 	
 	/**
@@ -574,41 +723,46 @@ public abstract class Entity {
 	 * @note 	The position of a collision is returned from the viewpoint of the entity object calling the function.
 	 * 			The position returned represents the centerpoint of the entity at the moment of impact.
 	 * 			Therefore, calling a.getCollisionPosition(b) is not equal to b.getCollisionPosition(b)
+	 * @see		getCollisionPosition(Entity, double[])
 	 */
 	public double[] getCollisionPosition(Entity otherEntity) throws IllegalArgumentException {
+		double[] collision = new double[2];
+		if (!getCollisionPosition(otherEntity, collision))
+			return null;
+		return collision;
+	}
+	
+	/**
+	 * 			Writes the position of a possible collision between this entity and another entity into a given array.
+	 * @param 	otherEntity
+	 * 			The entity used to calculate the position of a collision with.
+	 * @param 	position
+	 * 			An array of at least two elements, receiving the x and y coordinate of the collision.
+	 * @return	| result == (getCollisionPosition(otherEntity) != null)
+	 * @post	| if (result)
+	 * 			|	new.position[0] == getCollisionPosition(otherEntity)[0] && new.position[1] == getCollisionPosition(otherEntity)[1]
+	 * @throws 	IllegalArgumentException
+	 * 			The entity to check a collision against is a null object.
+	 * 			| otherEntity == null
+	 * @note	The time to the collision is computed once. The point of contact lies on the line connecting the
+	 * 			centres of both entities at the moment of impact, at a distance equal to the radius of this entity
+	 * 			from its own centre.
+	 */
+	public boolean getCollisionPosition(Entity otherEntity, double[] position) throws IllegalArgumentException {
 		if (otherEntity == null) 
 			throw new IllegalArgumentException("Invalid argument object (null).");
+		if (this.overlap(otherEntity))
+			return false;
 		
-
-		if ( this.overlap(otherEntity) ) {
-			return null;
-		}
-		
-		if ( this.getTimeToCollision(otherEntity) == Double.POSITIVE_INFINITY)
-			return null;
-
-		double collisionXSelf = this.getXCoordinate() + this.getTimeToCollision(otherEntity) * this.getXVelocity();
-		double collisionYSelf = this.getYCoordinate() + this.getTimeToCollision(otherEntity) * this.getYVelocity();
-
-		double collisionXOther = otherEntity.getXCoordinate() + otherEntity.getTimeToCollision(this) * otherEntity.getXVelocity();
-		double collisionYOther = otherEntity.getYCoordinate() + otherEntity.getTimeToCollision(this) * otherEntity.getYVelocity();
-		
-		double collisionX;
-		double collisionY;
-		
-		if (this.getXCoordinate() > otherEntity.getXCoordinate()) {
-			collisionX = collisionXSelf - Math.cos(Math.atan((collisionYOther - collisionYSelf) / (collisionXOther - collisionXSelf))) * radius;
-			collisionY = collisionYSelf - Math.sin(Math.atan((collisionYOther - collisionYSelf) / (collisionXOther - collisionXSelf))) * radius;
-			
-		}
-		else {
-			collisionX = collisionXSelf + Math.cos(Math.atan((collisionYOther - collisionYSelf) / (collisionXOther - collisionXSelf))) * radius;
-			collisionY = collisionYSelf + Math.sin(Math.atan((collisionYOther - collisionYSelf) / (collisionXOther - collisionXSelf))) * radius;
-		}
-		
-		double[] collision = {collisionX, collisionY};
-		return collision;
+		double time = this.getTimeToCollision(otherEntity);
+		if (time == Double.POSITIVE_INFINITY)
+			return false;
 		
+		KinematicStore.getContactPosition(this.getXCoordinate() + time * this.getXVelocity(),
+				this.getYCoordinate() + time * this.getYVelocity(),
+				otherEntity.getXCoordinate() + time * otherEntity.getXVelocity(),
+				otherEntity.getYCoordinate() + time * otherEntity.getYVelocity(), this.getRadius(), position);
+		return true;
 	}
 
 	/**
@@ -659,13 +813,30 @@ public abstract class Entity {
 			setYVelocity(-getYVelocity());
 	}
 	
+	/**
+	 * Variable registering the kind ordinal of the class of this entity.
+	 */
+	private final int kind = CollisionTable.getKind(getClass());
+	
+	/**
+	 * Returns the kind ordinal of the class of this entity.
+	 */
+	@Basic
+	@Immutable
+	int getKind() {
+		return this.kind;
+	}
+	
 	/**
 	 * Resolves a collision between this entity and another.
-	 * See implementation in subclass for details.
 	 * @param 	entity
 	 * 			The entity this entity collides with.
+	 * @effect	The collision is resolved by the resolver registered for the kinds of both entities.
+	 * 			| CollisionTable.resolve(this, entity)
 	 */
-	public abstract void collideWith(Entity entity);
+	public void collideWith(Entity entity) {
+		CollisionTable.resolve(this, entity);
+	}
 	
 	/**
 	 * Returns the position where the entity collides with a boundary.
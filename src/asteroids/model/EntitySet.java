@@ -0,0 +1,128 @@
+package asteroids.model;
+
+import java.util.AbstractSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import be.kuleuven.cs.som.annotate.Raw;
+
+/**
+ * A class of read-only, live sets of entities, kept up to date by the world they belong to.
+ *
+ * Every iteration runs over a snapshot of the elements taken when the iteration starts. The world may therefore
+ * be changed while a set is being iterated, for example by entities that are destroyed during a collision; such
+ * changes only become visible to iterations started afterwards. The snapshot is only taken again after the set
+ * changed, so repeated iterations over an unchanged set do not copy its elements.
+ *
+ * @version	1.0
+ * @author 	Tom De Backer and Quinten Bruynseraede
+ *
+ * @param	<E>
+ * 			The type of the entities in this set.
+ */
+public class EntitySet<E extends Entity> extends AbstractSet<E> {
+
+	/**
+	 * Creates a new, empty set of entities.
+	 */
+	@Raw
+	EntitySet() {
+	}
+
+	/**
+	 * Set registering the elements of this set.
+	 */
+	private final Set<E> elements = new HashSet<E>();
+
+	/**
+	 * Array registering the elements of this set at the moment of its last change, or null if it has to be taken again.
+	 */
+	private Entity[] snapshot = new Entity[0];
+
+	/**
+	 * Adds a given entity to this set.
+	 * @param 	entity
+	 * 			The entity to add.
+	 * @post	| new.contains(entity)
+	 */
+	void register(E entity) {
+		if (elements.add(entity))
+			snapshot = null;
+	}
+
+	/**
+	 * Removes a given entity from this set.
+	 * @param 	entity
+	 * 			The entity to remove.
+	 * @post	| !new.contains(entity)
+	 */
+	void unregister(Entity entity) {
+		if (elements.remove(entity))
+			snapshot = null;
+	}
+
+	/**
+	 * Removes all entities from this set.
+	 * @post	| new.isEmpty()
+	 */
+	void unregisterAll() {
+		elements.clear();
+		snapshot = new Entity[0];
+	}
+
+	/**
+	 * Returns the number of entities in this set.
+	 */
+	@Override
+	public int size() {
+		return elements.size();
+	}
+
+	/**
+	 * Returns whether a given object belongs to this set.
+	 * @param 	o
+	 * 			The object to check.
+	 */
+	@Override
+	public boolean contains(Object o) {
+		return elements.contains(o);
+	}
+
+	/**
+	 * Returns an array holding the entities in this set at the moment of invocation, in the order of iteration.
+	 * @note	The array is shared with later invocations until this set changes, and may not be modified.
+	 */
+	Entity[] getSnapshot() {
+		if (snapshot == null)
+			snapshot = elements.toArray(new Entity[elements.size()]);
+		return snapshot;
+	}
+
+	/**
+	 * Returns an iterator over the entities in this set at the moment of invocation.
+	 * @note	The iterator does not support removal.
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		final Entity[] elements = getSnapshot();
+		return new Iterator<E>() {
+
+			private int index = 0;
+
+			@Override
+			public boolean hasNext() {
+				return index < elements.length;
+			}
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public E next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				return (E) elements[index++];
+			}
+		};
+	}
+}
@@ -0,0 +1,277 @@
+package asteroids.model;
+
+import java.util.Arrays;
+
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Raw;
+
+/**
+ * A class of solvers resolving elastic collisions between pairs of entities.
+ *
+ * The two entities of each contact receive equal and opposite impulses along the line through their centres.
+ * Contacts are either resolved as soon as they are added, or collected in a batch of simultaneous contacts
+ * that are resolved together. Within a batch, an entity taking part in several contacts may have its velocity
+ * changed by one contact after another contact was resolved; such contacts are resolved again as long as their
+ * entities still approach each other.
+ *
+ * @version	1.0
+ * @author 	Tom De Backer and Quinten Bruynseraede
+ *
+ * @invar	The number of contacts waiting to be resolved is never negative.
+ * 			| getSize() >= 0
+ */
+final class ImpulseSolver {
+
+	/**
+	 * Creates a new solver without contacts, resolving contacts as soon as they are added.
+	 * @post	| new.getSize() == 0
+	 * @post	| !new.isDeferring()
+	 */
+	@Raw
+	ImpulseSolver() {
+	}
+
+	/**
+	 * Constant registering the maximum number of times the contacts of a batch are resolved.
+	 */
+	private static final int MAXPASSES = 16;
+
+	/**
+	 * Array registering the entities taking part in the contacts waiting to be resolved.
+	 */
+	private Entity[] bodies = new Entity[8];
+
+	/**
+	 * Arrays registering the mass, position and velocity of every entity taking part in a contact.
+	 */
+	private double[] mass = new double[8], x = new double[8], y = new double[8], xVelocity = new double[8],
+			yVelocity = new double[8], initialXVelocity = new double[8], initialYVelocity = new double[8];
+
+	/**
+	 * Array registering the version every entity taking part in a contact had when it was added.
+	 */
+	private long[] versions = new long[8];
+
+	/**
+	 * Array registering, for every entity taking part in a contact, the last contact that changed its velocity.
+	 */
+	private int[] changedBy = new int[8];
+
+	/**
+	 * Variable registering the number of entities taking part in the contacts waiting to be resolved.
+	 */
+	private int bodyCount = 0;
+
+	/**
+	 * Arrays registering the indices of the first and second entity of every contact waiting to be resolved.
+	 */
+	private int[] first = new int[4], second = new int[4];
+
+	/**
+	 * Variable registering the number of contacts waiting to be resolved.
+	 */
+	private int size = 0;
+
+	/**
+	 * Returns the number of contacts waiting to be resolved.
+	 */
+	@Basic
+	int getSize() {
+		return this.size;
+	}
+
+	/**
+	 * Variable registering whether contacts are collected until they are resolved as a batch.
+	 */
+	private boolean deferring = false;
+
+	/**
+	 * Returns whether contacts are collected until they are resolved as a batch.
+	 */
+	@Basic
+	boolean isDeferring() {
+		return this.deferring;
+	}
+
+	/**
+	 * Starts collecting contacts until they are resolved as a batch.
+	 * @post	| new.isDeferring()
+	 */
+	void defer() {
+		this.deferring = true;
+	}
+
+	/**
+	 * Resolves an elastic collision between two given entities, in the batch of the world of the first entity
+	 * if that world is collecting contacts, and immediately otherwise.
+	 * @param 	entity1
+	 * 			The first entity of the contact.
+	 * @param 	mass1
+	 * 			The mass of the first entity.
+	 * @param 	entity2
+	 * 			The second entity of the contact.
+	 * @param 	mass2
+	 * 			The mass of the second entity.
+	 * @effect	| if (entity1.getWorld() != null)
+	 * 			|	entity1.getWorld().getImpulseSolver().add(entity1, mass1, entity2, mass2)
+	 */
+	static void bounce(Entity entity1, double mass1, Entity entity2, double mass2) {
+		World world = entity1.getWorld();
+		ImpulseSolver solver = (world == null) ? new ImpulseSolver() : world.getImpulseSolver();
+		solver.add(entity1, mass1, entity2, mass2);
+	}
+
+	/**
+	 * Adds a contact between two given entities, and resolves it unless this solver is collecting contacts.
+	 * @param 	entity1
+	 * 			The first entity of the contact.
+	 * @param 	mass1
+	 * 			The mass of the first entity.
+	 * @param 	entity2
+	 * 			The second entity of the contact.
+	 * @param 	mass2
+	 * 			The mass of the second entity.
+	 * @effect	| if (!isDeferring())
+	 * 			|	solve()
+	 */
+	void add(Entity entity1, double mass1, Entity entity2, double mass2) {
+		if (size == first.length) {
+			first = Arrays.copyOf(first, 2 * size);
+			second = Arrays.copyOf(second, 2 * size);
+		}
+		first[size] = indexOf(entity1, mass1);
+		second[size] = indexOf(entity2, mass2);
+		size++;
+		if (!deferring)
+			solve();
+	}
+
+	/**
+	 * Returns the index of a given entity among the entities taking part in a contact, adding it if needed.
+	 * @param 	entity
+	 * 			The entity to return the index of.
+	 * @param 	m
+	 * 			The mass of the entity.
+	 */
+	private int indexOf(Entity entity, double m) {
+		for (int i = 0; i < bodyCount; i++) {
+			if (bodies[i] == entity)
+				return i;
+		}
+		if (bodyCount == bodies.length) {
+			int capacity = 2 * bodyCount;
+			bodies = Arrays.copyOf(bodies, capacity);
+			mass = Arrays.copyOf(mass, capacity);
+			x = Arrays.copyOf(x, capacity);
+			y = Arrays.copyOf(y, capacity);
+			xVelocity = Arrays.copyOf(xVelocity, capacity);
+			yVelocity = Arrays.copyOf(yVelocity, capacity);
+			initialXVelocity = Arrays.copyOf(initialXVelocity, capacity);
+			initialYVelocity = Arrays.copyOf(initialYVelocity, capacity);
+			versions = Arrays.copyOf(versions, capacity);
+			changedBy = Arrays.copyOf(changedBy, capacity);
+		}
+		bodies[bodyCount] = entity;
+		mass[bodyCount] = m;
+		x[bodyCount] = entity.getXCoordinate();
+		y[bodyCount] = entity.getYCoordinate();
+		xVelocity[bodyCount] = entity.getXVelocity();
+		yVelocity[bodyCount] = entity.getYVelocity();
+		initialXVelocity[bodyCount] = xVelocity[bodyCount];
+		initialYVelocity[bodyCount] = yVelocity[bodyCount];
+		versions[bodyCount] = entity.getVersion();
+		return bodyCount++;
+	}
+
+	/**
+	 * Resolves all contacts waiting to be resolved, and stops collecting contacts.
+	 * @effect	| solve(getSize(), first, second, mass, x, y, xVelocity, yVelocity, changedBy)
+	 * @post	| new.getSize() == 0
+	 * @post	| !new.isDeferring()
+	 * @note	The velocity of an entity that changed since its first contact was added, is changed by the
+	 * 			difference between the velocity it had at that moment and the velocity computed by the solver.
+	 */
+	void solve() {
+		solve(size, first, second, mass, x, y, xVelocity, yVelocity, changedBy);
+		for (int i = 0; i < bodyCount; i++) {
+			Entity body = bodies[i];
+			//Entities changed by other collisions of the batch receive the change in velocity instead.
+			if (body.getVersion() == versions[i]) {
+				body.setXVelocity(xVelocity[i]);
+				body.setYVelocity(yVelocity[i]);
+			}
+			else {
+				body.setXVelocity(body.getXVelocity() + (xVelocity[i] - initialXVelocity[i]));
+				body.setYVelocity(body.getYVelocity() + (yVelocity[i] - initialYVelocity[i]));
+			}
+		}
+		Arrays.fill(bodies, 0, bodyCount, null);
+		bodyCount = 0;
+		size = 0;
+		deferring = false;
+	}
+
+	/**
+	 * Resolves a batch of elastic contacts between entities given as parallel arrays, changing their velocities.
+	 * @param 	count
+	 * 			The number of contacts.
+	 * @param 	first
+	 * 			The indices of the first entities of the contacts.
+	 * @param 	second
+	 * 			The indices of the second entities of the contacts.
+	 * @param 	mass
+	 * 			The masses of the entities.
+	 * @param 	x
+	 * 			The x coordinates of the entities.
+	 * @param 	y
+	 * 			The y coordinates of the entities.
+	 * @param 	xVelocity
+	 * 			The velocities in the x direction of the entities.
+	 * @param 	yVelocity
+	 * 			The velocities in the y direction of the entities.
+	 * @param 	changedBy
+	 * 			An array with as many elements as mass, receiving the last contact that changed the velocity of
+	 * 			each entity.
+	 * @post	Every contact is resolved once, in the given order. Let a and b be the first and second entity of
+	 * 			a contact, and let dx, dy, dvx and dvy be the position and velocity of b relative to a. Then
+	 * 			| let sigma = Math.sqrt(dx*dx + dy*dy) in
+	 * 			| let J = (2*mass[a]*mass[b]*(dvx*dx + dvy*dy))/(sigma*(mass[a]+mass[b])) in
+	 * 			|	a receives the impulse (J*dx/sigma, J*dy/sigma) and b receives the opposite impulse
+	 * @post	Afterwards, contacts of which an entity received an impulse from another contact are resolved again
+	 * 			while their entities approach each other, up to a maximum number of times.
+	 */
+	static void solve(int count, int[] first, int[] second, double[] mass, double[] x, double[] y,
+			double[] xVelocity, double[] yVelocity, int[] changedBy) {
+		Arrays.fill(changedBy, -1);
+		for (int pass = 0; pass < MAXPASSES; pass++) {
+			boolean resolved = false;
+			for (int i = 0; i < count; i++) {
+				int a = first[i];
+				int b = second[i];
+				double deltaVX = xVelocity[b] - xVelocity[a];
+				double deltaVY = yVelocity[b] - yVelocity[a];
+				double deltaRX = x[b] - x[a];
+				double deltaRY = y[b] - y[a];
+				double dot = deltaVX * deltaRX + deltaVY * deltaRY;
+				if (pass > 0 && ((changedBy[a] == i && changedBy[b] == i) || dot >= 0))
+					continue;
+				double sigma = Math.sqrt(deltaRX*deltaRX + deltaRY*deltaRY);
+
+				double J = (2*mass[a]*mass[b]*dot)/(sigma*(mass[a]+mass[b]));
+				double Jx = J*deltaRX/sigma;
+				double Jy = J*deltaRY/sigma;
+
+				xVelocity[a] = xVelocity[a] + (Jx/mass[a]);
+				yVelocity[a] = yVelocity[a] + (Jy/mass[a]);
+				xVelocity[b] = xVelocity[b] - (Jx/mass[b]);
+				yVelocity[b] = yVelocity[b] - (Jy/mass[b]);
+
+				changedBy[a] = i;
+				changedBy[b] = i;
+				resolved = true;
+			}
+			if (!resolved || count == 1)
+				return;
+		}
+	}
+}
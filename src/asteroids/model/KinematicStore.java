@@ -0,0 +1,540 @@
+package asteroids.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import be.kuleuven.cs.som.annotate.Raw;
+
+/**
+ * A class of stores holding the kinematic state of the entities of a world in parallel arrays.
+ *
+ * Every entity of the world occupies one slot; its position, velocity and radius are stored at the index of that slot
+ * in one primitive column per property. Slots are dense: removing an entity moves the entity in the last slot into the
+ * freed one. Operations on all entities at once, like finding their first boundary collision, are loops over these
+ * columns.
+ *
+ * Inertial entities are moved lazily. Their slot holds the position they had at a reference time, and their current
+ * position is computed from it and the clock of this store when it is read. Advancing the clock moves all of them
+ * at once; their reference position is only registered again when their position or velocity is set.
+ *
+ * @version	1.0
+ * @author 	Tom De Backer and Quinten Bruynseraede
+ *
+ * @invar	| for each slot in 0..getSize()-1:
+ * 			|	getEntity(slot).getSlot() == slot
+ */
+class KinematicStore {
+
+	/**
+	 * Creates a new, empty kinematic store.
+	 */
+	@Raw
+	KinematicStore() {
+	}
+
+	/**
+	 * Constant registering the initial number of slots of a store.
+	 */
+	private static final int INITIALCAPACITY = 16;
+
+	/**
+	 * Variable registering the number of occupied slots.
+	 */
+	private int size = 0;
+
+	/**
+	 * Columns registering the X and Y coordinates of the entity in each slot at its reference time.
+	 */
+	private double[] x = new double[INITIALCAPACITY], y = new double[INITIALCAPACITY];
+
+	/**
+	 * Column registering the reference time of the entity in each slot, expressed in seconds.
+	 */
+	private double[] referenceTime = new double[INITIALCAPACITY];
+
+	/**
+	 * Columns registering the X and Y velocities and the radius of the entity in each slot.
+	 */
+	double[] xVelocity = new double[INITIALCAPACITY], yVelocity = new double[INITIALCAPACITY],
+			radius = new double[INITIALCAPACITY];
+
+	/**
+	 * Column registering whether advancing the entity in each slot only moves it along its velocity.
+	 */
+	private boolean[] inertial = new boolean[INITIALCAPACITY];
+
+	/**
+	 * Column registering the entity in each slot.
+	 */
+	private Entity[] entities = new Entity[INITIALCAPACITY];
+
+	/**
+	 * Set registering the stored entities that are not inertial, in the order in which they became so.
+	 */
+	private final Set<Entity> nonInertial = new LinkedHashSet<Entity>();
+
+	/**
+	 * Set registering the stored entities that were added or changed since they were last returned by
+	 * pollChangedEntities(), in the order in which they were first changed.
+	 */
+	private final Set<Entity> changedEntities = new LinkedHashSet<Entity>();
+
+	/**
+	 * Variable registering the number of entities added, removed or changed other than by moving them along
+	 * their velocity.
+	 */
+	private long modifications = 0;
+
+	/**
+	 * Returns the number of entities added, removed or changed other than by moving them along their velocity.
+	 * @see		Entity#getVersion()
+	 */
+	long getModifications() {
+		return modifications;
+	}
+
+	/**
+	 * Registers a change of the position, velocity or radius of the entity in a given slot.
+	 * @param 	slot
+	 * 			The slot of the changed entity.
+	 */
+	void changed(int slot) {
+		modifications++;
+		changedEntities.add(entities[slot]);
+	}
+
+	/**
+	 * Returns the stored entities that were added or changed since they were last returned by this method.
+	 * @return	The entities are returned in the order in which they were first changed.
+	 * @note	Only changed entities are visited, so handling a change costs time proportional to the number of
+	 * 			entities involved in it rather than to the number of stored entities.
+	 */
+	List<Entity> pollChangedEntities() {
+		List<Entity> result = new ArrayList<Entity>(changedEntities);
+		changedEntities.clear();
+		return result;
+	}
+
+	/**
+	 * Returns the stored entities that are not inertial.
+	 * @return	| result == { getEntity(slot) | slot in 0..getSize()-1 && !isInertial(slot) }
+	 */
+	List<Entity> getNonInertialEntities() {
+		return new ArrayList<Entity>(nonInertial);
+	}
+
+	/**
+	 * Returns the number of occupied slots.
+	 */
+	int getSize() {
+		return size;
+	}
+
+	/**
+	 * Returns the entity in a given slot.
+	 * @param 	slot
+	 * 			The slot to look up.
+	 */
+	Entity getEntity(int slot) {
+		return entities[slot];
+	}
+
+	/**
+	 * Occupies a new slot with a given entity and its kinematic state.
+	 * @param 	entity
+	 * 			The entity to store.
+	 * @return	The slot occupied by the entity.
+	 */
+	int allocate(Entity entity, double x, double y, double xVelocity, double yVelocity, double radius) {
+		if (size == entities.length)
+			grow();
+		modifications++;
+		int slot = size++;
+		this.x[slot] = x;
+		this.y[slot] = y;
+		this.xVelocity[slot] = xVelocity;
+		this.yVelocity[slot] = yVelocity;
+		this.radius[slot] = radius;
+		this.referenceTime[slot] = clock;
+		this.inertial[slot] = entity.isInertial();
+		this.entities[slot] = entity;
+		if (!inertial[slot])
+			nonInertial.add(entity);
+		changedEntities.add(entity);
+		return slot;
+	}
+
+	/**
+	 * Frees a given slot, moving the entity in the last slot into it.
+	 * @param 	slot
+	 * 			The slot to free.
+	 */
+	void release(int slot) {
+		modifications++;
+		nonInertial.remove(entities[slot]);
+		changedEntities.remove(entities[slot]);
+		int last = --size;
+		if (slot != last) {
+			x[slot] = x[last];
+			y[slot] = y[last];
+			referenceTime[slot] = referenceTime[last];
+			xVelocity[slot] = xVelocity[last];
+			yVelocity[slot] = yVelocity[last];
+			radius[slot] = radius[last];
+			inertial[slot] = inertial[last];
+			entities[slot] = entities[last];
+			entities[slot].setSlot(slot);
+		}
+		entities[last] = null;
+	}
+
+	/**
+	 * Doubles the number of slots of this store.
+	 */
+	private void grow() {
+		int capacity = 2 * entities.length;
+		x = Arrays.copyOf(x, capacity);
+		y = Arrays.copyOf(y, capacity);
+		referenceTime = Arrays.copyOf(referenceTime, capacity);
+		xVelocity = Arrays.copyOf(xVelocity, capacity);
+		yVelocity = Arrays.copyOf(yVelocity, capacity);
+		radius = Arrays.copyOf(radius, capacity);
+		inertial = Arrays.copyOf(inertial, capacity);
+		entities = Arrays.copyOf(entities, capacity);
+	}
+
+	/**
+	 * Returns whether advancing the entity in a given slot only moves it along its velocity.
+	 * @param 	slot
+	 * 			The slot to check.
+	 */
+	boolean isInertial(int slot) {
+		return inertial[slot];
+	}
+
+	/**
+	 * Registers whether advancing the entity in a given slot only moves it along its velocity.
+	 * @param 	slot
+	 * 			The slot of the entity.
+	 * @param 	inertial
+	 * 			Whether the entity is inertial.
+	 * @effect	The entity keeps the position it has at this moment.
+	 * 			| materialize(slot)
+	 * @post	| new.isInertial(slot) == inertial
+	 */
+	void setInertial(int slot, boolean inertial) {
+		if (this.inertial[slot] == inertial)
+			return;
+		materialize(slot);
+		this.inertial[slot] = inertial;
+		if (inertial)
+			nonInertial.remove(entities[slot]);
+		else
+			nonInertial.add(entities[slot]);
+	}
+
+	/**
+	 * Variable registering the time of the clock of this store, expressed in seconds.
+	 */
+	private double clock = 0;
+
+	/**
+	 * Returns the time of the clock of this store, expressed in seconds.
+	 */
+	double getClock() {
+		return clock;
+	}
+
+	/**
+	 * Moves every inertial entity along its velocity over a given time duration, by advancing the clock of this store.
+	 * @param 	time
+	 * 			The time duration to move.
+	 * @post	| new.getClock() == getClock() + time
+	 * @effect	| for each slot in 0..getSize()-1:
+	 * 			|	if (isInertial(slot))
+	 * 			|		getEntity(slot).move(time)
+	 * @throws 	IllegalArgumentException
+	 * 			| time < 0
+	 * @note	The position of an inertial entity is computed from its reference position when it is read, so this
+	 * 			method takes constant time regardless of the number of stored entities.
+	 */
+	void advance(double time) throws IllegalArgumentException {
+		if (time < -0.000001)
+			throw new IllegalArgumentException("Argument time must be positive");
+		if (time > 0)
+			clock += time;
+	}
+
+	/**
+	 * Returns the X coordinate of the entity in a given slot.
+	 * @param 	slot
+	 * 			The slot of the entity.
+	 * @return	| if (!isInertial(slot))
+	 * 			|	result == x[slot]
+	 * @return	| if (isInertial(slot))
+	 * 			|	result == x[slot] + xVelocity[slot] * (getClock() - referenceTime[slot])
+	 * @note	An inertial entity does not move beyond the boundaries of its world.
+	 */
+	double getX(int slot) {
+		if (!inertial[slot])
+			return x[slot];
+		double result = x[slot] + xVelocity[slot] * (clock - referenceTime[slot]);
+		World bounds = entities[slot].getWorld();
+		if (bounds == null || (result < bounds.getWidth() && result >= 0))
+			return result;
+		return Math.max(0, Math.min(result, Math.nextDown(bounds.getWidth())));
+	}
+
+	/**
+	 * Returns the Y coordinate of the entity in a given slot.
+	 * @param 	slot
+	 * 			The slot of the entity.
+	 * @return	| if (!isInertial(slot))
+	 * 			|	result == y[slot]
+	 * @return	| if (isInertial(slot))
+	 * 			|	result == y[slot] + yVelocity[slot] * (getClock() - referenceTime[slot])
+	 * @note	An inertial entity does not move beyond the boundaries of its world.
+	 */
+	double getY(int slot) {
+		if (!inertial[slot])
+			return y[slot];
+		double result = y[slot] + yVelocity[slot] * (clock - referenceTime[slot]);
+		World bounds = entities[slot].getWorld();
+		if (bounds == null || (result < bounds.getHeight() && result >= 0))
+			return result;
+		return Math.max(0, Math.min(result, Math.nextDown(bounds.getHeight())));
+	}
+
+	/**
+	 * Registers the current position of the entity in a given slot as its reference position.
+	 * @param 	slot
+	 * 			The slot of the entity.
+	 * @post	| new.x[slot] == getX(slot) && new.y[slot] == getY(slot)
+	 * @post	| new.referenceTime[slot] == getClock()
+	 */
+	void materialize(int slot) {
+		double currentX = getX(slot);
+		double currentY = getY(slot);
+		x[slot] = currentX;
+		y[slot] = currentY;
+		referenceTime[slot] = clock;
+	}
+
+	/**
+	 * Sets the X coordinate of the entity in a given slot.
+	 * @effect	| materialize(slot)
+	 * @post	| new.getX(slot) == x
+	 */
+	void setX(int slot, double x) {
+		materialize(slot);
+		this.x[slot] = x;
+	}
+
+	/**
+	 * Sets the Y coordinate of the entity in a given slot.
+	 * @effect	| materialize(slot)
+	 * @post	| new.getY(slot) == y
+	 */
+	void setY(int slot, double y) {
+		materialize(slot);
+		this.y[slot] = y;
+	}
+
+	/**
+	 * Sets the X velocity of the entity in a given slot.
+	 * @effect	The entity keeps the position it has at this moment.
+	 * 			| materialize(slot)
+	 * @post	| new.xVelocity[slot] == xVelocity
+	 */
+	void setXVelocity(int slot, double xVelocity) {
+		materialize(slot);
+		this.xVelocity[slot] = xVelocity;
+	}
+
+	/**
+	 * Sets the Y velocity of the entity in a given slot.
+	 * @effect	The entity keeps the position it has at this moment.
+	 * 			| materialize(slot)
+	 * @post	| new.yVelocity[slot] == yVelocity
+	 */
+	void setYVelocity(int slot, double yVelocity) {
+		materialize(slot);
+		this.yVelocity[slot] = yVelocity;
+	}
+
+	/**
+	 * Returns the time until the first collision of any stored entity with a boundary of its world.
+	 * @return	| result == min { getTimeFirstCollisionBoundary(slot) | slot in 0..getSize()-1 }
+	 */
+	double getTimeFirstCollisionBoundary() {
+		double result = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < size; i++)
+			result = Math.min(result, getTimeFirstCollisionBoundary(i));
+		return result;
+	}
+
+	/**
+	 * Returns the time until the entity in a given slot collides with a boundary of its world.
+	 * @param 	slot
+	 * 			The slot of the entity.
+	 * @return	| result == getEntity(slot).getTimeFirstCollisionBoundary()
+	 */
+	double getTimeFirstCollisionBoundary(int slot) {
+		World bounds = entities[slot].getWorld();
+		if (bounds == null)
+			return Double.POSITIVE_INFINITY;
+		return getTimeFirstCollisionBoundary(getX(slot), getY(slot), xVelocity[slot], yVelocity[slot], radius[slot],
+				bounds.getWidth(), bounds.getHeight());
+	}
+
+	/**
+	 * Returns the time until the entities in two given slots collide.
+	 * @return	| result == getEntity(slot1).getTimeToCollision(getEntity(slot2))
+	 */
+	double getTimeToCollision(int slot1, int slot2) {
+		return getTimeToCollision(getX(slot1) - getX(slot2), getY(slot1) - getY(slot2),
+				xVelocity[slot1] - xVelocity[slot2], yVelocity[slot1] - yVelocity[slot2], radius[slot1], radius[slot2]);
+	}
+
+	/**
+	 * Computes the times until the entity in a given slot collides with each entity in a block of other slots, and
+	 * returns the first of those collisions.
+	 * @param 	slot
+	 * 			The slot of the entity.
+	 * @param 	others
+	 * 			The slots of the other entities, none of which equals the given slot.
+	 * @param 	count
+	 * 			The number of other slots to handle, starting from the first.
+	 * @param 	times
+	 * 			An array of at least count elements receiving the time until each collision. The time of an
+	 * 			entity that already overlaps the entity in the given slot is NaN.
+	 * @return	| if (for some k in 0..count-1: overlap(slot, others[k]))
+	 * 			|	result == -(k + 1) where k is the first such index
+	 * @return	| if (for no k in 0..count-1: overlap(slot, others[k]) && count > 0)
+	 * 			|	result == the first k for which getTimeToCollision(slot, others[k]) is minimal
+	 * @return	| if (count == 0)
+	 * 			|	result == 0
+	 * @note	The times are computed in one scalar loop, reading the positions through getX and getY, by the same
+	 * 			static getTimeToCollision as the time until the collision of a single pair. Overlap is decided on
+	 * 			squared distances, so it equals overlap up to rounding.
+	 */
+	int getFirstCollision(int slot, int[] others, int count, double[] times) {
+		double x0 = getX(slot), y0 = getY(slot), xVelocity0 = xVelocity[slot], yVelocity0 = yVelocity[slot], radius0 = radius[slot];
+		for (int k = 0; k < count; k++) {
+			int other = others[k];
+			double deltaX = x0 - getX(other);
+			double deltaY = y0 - getY(other);
+			double deltaVX = xVelocity0 - xVelocity[other];
+			double deltaVY = yVelocity0 - yVelocity[other];
+			double radius1 = radius[other];
+			double time = getTimeToCollision(deltaX, deltaY, deltaVX, deltaVY, radius0, radius1);
+			double limit = radius0 + radius1 - 0.01;
+			boolean overlap = limit > 0 && deltaX * deltaX + deltaY * deltaY < limit * limit;
+			times[k] = overlap ? Double.NaN : time;
+		}
+		int first = 0;
+		for (int k = 0; k < count; k++) {
+			if (Double.isNaN(times[k]))
+				return -(k + 1);
+			if (times[first] > times[k])
+				first = k;
+		}
+		return first;
+	}
+
+	/**
+	 * Returns whether the entities in two given slots overlap.
+	 * @return	| result == getEntity(slot1).overlap(getEntity(slot2))
+	 */
+	boolean overlap(int slot1, int slot2) {
+		if (slot1 == slot2)
+			return true;
+		return getDistanceBetween(getX(slot1) - getX(slot2), getY(slot1) - getY(slot2), radius[slot1], radius[slot2]) < -0.01;
+	}
+
+	/**
+	 * Returns the time until a circle moving along a straight line reaches a boundary of a world with given dimensions.
+	 * @see		Entity#getTimeFirstCollisionBoundary()
+	 */
+	static double getTimeFirstCollisionBoundary(double x, double y, double xVelocity, double yVelocity, double radius,
+			double width, double height) {
+		double xTime = Double.POSITIVE_INFINITY;
+		double yTime = Double.POSITIVE_INFINITY;
+
+		if (xVelocity > 0)
+			xTime = (width - x - radius) / xVelocity;
+		if (xVelocity < 0)
+			xTime = - (x - radius) / xVelocity;
+
+		if (yVelocity > 0)
+			yTime = (height - y - radius) / yVelocity;
+		if (yVelocity < 0)
+			yTime = - (y - radius) / yVelocity;
+
+		return Math.min(xTime, yTime);
+	}
+
+	/**
+	 * Returns the time until two circles moving along straight lines touch, given their relative position and velocity.
+	 * @see		Entity#getTimeToCollision(Entity)
+	 */
+	static double getTimeToCollision(double deltaX, double deltaY, double deltaVX, double deltaVY, double radius1,
+			double radius2) {
+		if ((deltaVX * deltaX) + (deltaVY * deltaY) >= 0)
+			return Double.POSITIVE_INFINITY;
+
+		double part1 = deltaVX * deltaX + deltaVY * deltaY;
+		double part2 = deltaVX * deltaVX + deltaVY * deltaVY;
+		double part3 = deltaX * deltaX + deltaY * deltaY - (radius1 + radius2) * (radius1 + radius2);
+		double d = part1 * part1 - part2 * part3;
+
+		if (part2 == 0)
+			return Double.POSITIVE_INFINITY;
+		if (d <= 0)
+			return Double.POSITIVE_INFINITY;
+		return -( (part1 + Math.sqrt(d)) / (part2) );
+	}
+
+	/**
+	 * Returns the distance between the edges of two circles, given the relative position of their centres.
+	 * @see		Entity#getDistanceBetween(Entity)
+	 */
+	static double getDistanceBetween(double deltaX, double deltaY, double radius1, double radius2) {
+		return Math.sqrt(deltaX * deltaX + deltaY * deltaY) - (radius1 + radius2);
+	}
+
+	/**
+	 * Writes the point of contact of a circle touching another circle into a given array.
+	 * @param 	x1
+	 * 			The x coordinate of the centre of the circle.
+	 * @param 	y1
+	 * 			The y coordinate of the centre of the circle.
+	 * @param 	x2
+	 * 			The x coordinate of the centre of the other circle.
+	 * @param 	y2
+	 * 			The y coordinate of the centre of the other circle.
+	 * @param 	radius1
+	 * 			The radius of the circle.
+	 * @param 	position
+	 * 			An array of at least two elements, receiving the coordinates of the point of contact.
+	 * @post	The point of contact lies on the line from the first centre to the second, at a distance radius1
+	 * 			from the first centre.
+	 * 			| new.position[0] == x1 + radius1 * (x2 - x1) / hypot(x2 - x1, y2 - y1)
+	 * 			| new.position[1] == y1 + radius1 * (y2 - y1) / hypot(x2 - x1, y2 - y1)
+	 */
+	static void getContactPosition(double x1, double y1, double x2, double y2, double radius1, double[] position) {
+		double deltaX = x2 - x1;
+		double deltaY = y2 - y1;
+		double distance = Math.sqrt(deltaX * deltaX + deltaY * deltaY);
+		if (distance == 0) {
+			position[0] = x1;
+			position[1] = y1;
+			return;
+		}
+		position[0] = x1 + radius1 * deltaX / distance;
+		position[1] = y1 + radius1 * deltaY / distance;
+	}
+}
@@ -62,6 +62,15 @@ public abstract class MinorPlanet extends Entity {
 	public void advance(double deltaTime) {
 		move(deltaTime);
 	}
+	
+	/**
+	 * Returns whether advancing this minor planet only moves it along its velocity.
+	 * @return	| result == true
+	 */
+	@Override
+	boolean isInertial() {
+		return true;
+	}
 
 	/**
 	 * Returns a string representation of a minorplanet.
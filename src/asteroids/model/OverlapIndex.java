@@ -0,0 +1,141 @@
+package asteroids.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Raw;
+
+/**
+ * A class of overlap indexes, used to find the entities overlapping a given entity among many entities at once.
+ *
+ * The centre of every entity is registered in one cell of a uniform hash grid, whose cells are at least as large
+ * as the diameter of the largest entity that will be registered or looked up. Two such entities can then only
+ * overlap if their centres lie in the same or in neighbouring cells.
+ *
+ * @version	1.0
+ * @author 	Tom De Backer and Quinten Bruynseraede
+ *
+ * @invar	The size of the cells of this index is strictly positive.
+ * 			| getCellSize() > 0
+ */
+class OverlapIndex {
+
+	/**
+	 * Creates a new, empty overlap index for entities with radii up to a given maximum.
+	 * @param 	maxRadius
+	 * 			The largest radius of the entities that will be registered or looked up.
+	 * @post	| if (maxRadius > 0 && Double.isFinite(maxRadius))
+	 * 			|	new.getCellSize() == 2 * maxRadius
+	 */
+	@Raw
+	OverlapIndex(double maxRadius) {
+		if (maxRadius > 0 && Double.isFinite(maxRadius))
+			this.cellSize = 2 * maxRadius;
+	}
+
+	/**
+	 * Variable registering the length of the sides of the cells of this index, expressed in kilometres.
+	 */
+	private double cellSize = 1;
+
+	/**
+	 * Returns the length of the sides of the cells of this index, expressed in kilometres.
+	 */
+	@Basic
+	double getCellSize() {
+		return this.cellSize;
+	}
+
+	/**
+	 * Map registering, for each occupied cell, the entities whose centre lies in that cell.
+	 */
+	private final Map<Long, List<Entity>> cells = new HashMap<Long, List<Entity>>();
+
+	/**
+	 * List registering the entities whose centre does not lie in any cell, or that are too large for the cells.
+	 */
+	private final List<Entity> unlocated = new ArrayList<Entity>();
+
+	/**
+	 * Registers a given entity at its current position.
+	 * @param 	entity
+	 * 			The entity to register.
+	 */
+	void add(Entity entity) {
+		if (!isLocated(entity)) {
+			unlocated.add(entity);
+			return;
+		}
+		long key = getKey(getCell(entity.getXCoordinate()), getCell(entity.getYCoordinate()));
+		List<Entity> cell = cells.get(key);
+		if (cell == null) {
+			cell = new ArrayList<Entity>(2);
+			cells.put(key, cell);
+		}
+		cell.add(entity);
+	}
+
+	/**
+	 * Returns all registered entities other than a given entity that overlap the given entity.
+	 * @param 	entity
+	 * 			The entity to find overlapping entities for.
+	 * @return	| for each Entity e in result:
+	 * 			|	e != entity && entity.overlap(e)
+	 */
+	List<Entity> getOverlapping(Entity entity) {
+		List<Entity> result = new ArrayList<Entity>();
+		if (!isLocated(entity)) {
+			for (List<Entity> cell : cells.values())
+				collect(entity, cell, result);
+		}
+		else {
+			long cx = getCell(entity.getXCoordinate());
+			long cy = getCell(entity.getYCoordinate());
+			for (long x = cx - 1; x <= cx + 1; x++) {
+				for (long y = cy - 1; y <= cy + 1; y++) {
+					List<Entity> cell = cells.get(getKey(x, y));
+					if (cell != null)
+						collect(entity, cell, result);
+				}
+			}
+		}
+		collect(entity, unlocated, result);
+		return result;
+	}
+
+	/**
+	 * Adds the entities of a given list other than a given entity that overlap the given entity to a result list.
+	 */
+	private static void collect(Entity entity, List<Entity> candidates, List<Entity> result) {
+		for (Entity other : candidates) {
+			if (other != entity && entity.overlap(other))
+				result.add(other);
+		}
+	}
+
+	/**
+	 * Returns whether a given entity can be registered in a cell of this index.
+	 */
+	private boolean isLocated(Entity entity) {
+		return 2 * entity.getRadius() <= cellSize
+				&& Math.abs(entity.getXCoordinate() / cellSize) < Integer.MAX_VALUE
+				&& Math.abs(entity.getYCoordinate() / cellSize) < Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Returns the index of the cell containing a given coordinate.
+	 */
+	private long getCell(double coordinate) {
+		return (long) Math.floor(coordinate / cellSize);
+	}
+
+	/**
+	 * Returns the key of the cell with the given indices.
+	 */
+	private static long getKey(long cx, long cy) {
+		return (cx << 32) ^ (cy & 0xFFFFFFFFL);
+	}
+}
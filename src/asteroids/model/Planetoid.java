@@ -1,5 +1,7 @@
 package asteroids.model;
 
+import java.util.Arrays;
+
 import be.kuleuven.cs.som.annotate.Basic;
 import be.kuleuven.cs.som.annotate.Immutable;
 import be.kuleuven.cs.som.annotate.Raw;
@@ -125,7 +127,7 @@ public class Planetoid extends MinorPlanet {
 	@Raw
 	public void setRadius(double radius) {
 		if (isValidRadius(radius)) {
-			this.radius = radius;
+			registerRadius(radius);
 			setMass(4 * Math.PI / 3);
 			setMass(getMass() * MASSDENSITY * radius * radius * radius);
 		}
@@ -224,6 +226,16 @@ public class Planetoid extends MinorPlanet {
 		addToDistanceTravelled(Math.sqrt(Math.pow(deltaTime * this.getXVelocity(), 2) + Math.pow(deltaTime * this.getYVelocity(), 2)));
 	}
 	
+	/**
+	 * Returns whether advancing this planetoid only moves it along its velocity.
+	 * @return	| result == false
+	 * @note	Advancing a planetoid also keeps track of the distance it travelled.
+	 */
+	@Override
+	boolean isInertial() {
+		return false;
+	}
+	
 
 	
 	/**
@@ -299,62 +311,51 @@ public class Planetoid extends MinorPlanet {
 
 	
 	/**
-	 *  Resolves a collision between this planetoid and another entity
-	 * 	@param	entity
-	 * 			The entity that will collide with this planetoid.
-	 *	@effect	If the given entity is an instance of the Ship class, that ship will be teleported to a random location.
-	 * 			| if (entity instanceof Ship)
-	 * 			|	((Ship) entity).teleport()
-	 *  @post	If the given entity is another Planetoid, update the planetoids's velocity to reflect a collision (see implementation)
-	 *	@post	If the given entity is an instance of some other class, that entity will call his own collideWith method.
-	 *			| if (entity !instanceof Ship)
-	 *			|		entity.collideWith(this)
-
+	 *  Resolves a collision between this planetoid and a ship.
+	 * 	@param	ship
+	 * 			The ship that will collide with this planetoid.
+	 *	@effect	The ship will be teleported to a random location.
+	 * 			| ship.teleport()
 	 */
-	@Override
-	public void collideWith(Entity entity) {
-		if (entity instanceof Ship) {
-			((Ship) entity).teleport();
-		}
-		else if (entity instanceof Planetoid) {
-			Planetoid planetoid1 = this;
-			Planetoid planetoid2 = (Planetoid) entity;
-			
-			 
-			double deltaVX = planetoid2.getXVelocity() - planetoid1.getXVelocity();
-			double deltaVY = planetoid2.getYVelocity() - planetoid1.getYVelocity();
-			double deltaRX = planetoid2.getXCoordinate() - planetoid1.getXCoordinate();
-			double deltaRY = planetoid2.getYCoordinate() - planetoid1.getYCoordinate();
-			double sigma = Math.sqrt(Math.pow(planetoid1.getXCoordinate()-planetoid2.getXCoordinate(), 2) + Math.pow(planetoid1.getYCoordinate()-planetoid2.getYCoordinate(), 2));
-			
-			double J = (2*planetoid1.getMass()*planetoid2.getMass()*(deltaVX * deltaRX + deltaVY * deltaRY))/(sigma*(planetoid1.getMass()+planetoid2.getMass()));
-			double Jx = J*deltaRX/sigma;
-			double Jy = J*deltaRY/sigma;
-			
-			planetoid1.setXVelocity(planetoid1.getXVelocity() + (Jx/planetoid1.getMass()));
-			planetoid1.setYVelocity(planetoid1.getYVelocity() + (Jy/planetoid1.getMass()));
-			
-			planetoid2.setXVelocity(planetoid2.getXVelocity() - (Jx/planetoid2.getMass()));
-			planetoid2.setYVelocity(planetoid2.getYVelocity() - (Jy/planetoid2.getMass()));
-			return;
-		}
-		else if (entity instanceof Bullet) {
-			entity.finalize();
-			
-			if (this.getWorld() != null && this.getRadius() >= 30) {
-				spawnPlanetoids();
-			}
-			
-			finalize();
-			return;
+	void collideWithShip(Ship ship) {
+		ship.teleport();
+	}
+	
+	/**
+	 *  Resolves a collision between this planetoid and another planetoid.
+	 * 	@param	planetoid
+	 * 			The planetoid that will collide with this planetoid.
+	 *  @effect	The velocities of the two planetoids are updated to reflect an elastic collision.
+	 *  		| ImpulseSolver.bounce(this, getMass(), planetoid, planetoid.getMass())
+	 */
+	void collideWithPlanetoid(Planetoid planetoid) {
+		ImpulseSolver.bounce(this, getMass(), planetoid, planetoid.getMass());
+	}
+	
+	/**
+	 *  Resolves a collision between this planetoid and a bullet.
+	 * 	@param	bullet
+	 * 			The bullet that will collide with this planetoid.
+	 *	@post	The bullet will be finalized, and this planetoid will split into two new planetoids if its radius
+	 *			is at least 30, before being finalized itself.
+	 *			| bullet.finalize()
+	 *			| if (getWorld() != null && getRadius() >= 30)
+	 *			|		spawnPlanetoids()
+	 *			| finalize()
+	 */
+	void collideWithBullet(Bullet bullet) {
+		bullet.finalize();
+		
+		if (this.getWorld() != null && this.getRadius() >= 30) {
+			spawnPlanetoids();
 		}
-		else
-			entity.collideWith(this);
+		
+		finalize();
 	}
 	
 	/**
-	 * Spawns two new planetoids.
-	 * 
+	 * Spawns two new asteroids in the world of this planetoid, replacing this planetoid.
+	 * Asteroids that cannot be added to the world are finalized.
 	 */
 	private void spawnPlanetoids() {
 		double asteroidDirection = 2 * Math.PI * Math.random(); 
@@ -376,21 +377,6 @@ public class Planetoid extends MinorPlanet {
 		
 		World w = getWorld();
 		w.removeEntity(this);
-		try {
-			w.addEntity(a1);
-		} catch (IllegalArgumentException e) {
-			e.printStackTrace();
-		} catch (IllegalStateException e) {
-			a1.finalize();
-		}
-		
-		try {
-			w.addEntity(a2);
-		} catch (IllegalArgumentException e) {
-			e.printStackTrace();
-		} catch (IllegalStateException e) {
-			a2.finalize();
-		}
-		
+		w.spawn(Arrays.asList(a1, a2));
 	}
 }
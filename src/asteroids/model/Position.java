@@ -77,7 +77,6 @@ public class Position {
 	 * 			|	result == false
 	 * @return	| if (other != null && other instanceof Position)
 	 * 			|	result == (other.getX() == getX() && other.getY() == getY())
-	 * @note	This method account for rounding errors by tolerating a 1% error margin.
 	 */
 	@Override
 	public boolean equals(Object other) {
@@ -87,15 +86,42 @@ public class Position {
 			return false;
 		
 		Position otherPosition = (Position) other;
-		return (Math.abs(getX() - otherPosition.getX()) < 0.01*getX() && Math.abs(getY() - otherPosition.getY()) < 0.01*getY());
+		return (Double.compare(getX(), otherPosition.getX()) == 0 && Double.compare(getY(), otherPosition.getY()) == 0);
 	}
 	
 	/**
 	 * Returns a hashcode representation for this Position
+	 * @return	| if (equals(other))
+	 * 			|	result == other.hashCode()
 	 */
 	@Override
 	public int hashCode() {
-		return (37 * (int) getX() + 29 * (int) getY());
+		return (37 * Double.hashCode(getX()) + 29 * Double.hashCode(getY()));
+	}
+	
+	/**
+	 * Returns whether this position lies close to given coordinates, tolerating a 1% error margin.
+	 * @param 	x
+	 * 			The x coordinate to compare with.
+	 * @param 	y
+	 * 			The y coordinate to compare with.
+	 * @return	| result == (Math.abs(getX() - x) < 0.01 * Math.abs(getX()) && Math.abs(getY() - y) < 0.01 * Math.abs(getY()))
+	 * @note	This method accounts for rounding errors by tolerating a 1% error margin.
+	 */
+	public boolean isCloseTo(double x, double y) {
+		return (Math.abs(getX() - x) < 0.01 * Math.abs(getX()) && Math.abs(getY() - y) < 0.01 * Math.abs(getY()));
+	}
+	
+	/**
+	 * Returns the distance from this position to given coordinates.
+	 * @param 	x
+	 * 			The x coordinate to measure the distance to.
+	 * @param 	y
+	 * 			The y coordinate to measure the distance to.
+	 * @return	| result == Math.hypot(getX() - x, getY() - y)
+	 */
+	public double getDistanceTo(double x, double y) {
+		return Math.hypot(getX() - x, getY() - y);
 	}
 	
 	/**
@@ -0,0 +1,170 @@
+package asteroids.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import be.kuleuven.cs.som.annotate.Raw;
+
+/**
+ * A class of point-location indexes, used to find the entity at a given position in a world.
+ *
+ * The centre of every entity is registered in one cell of a uniform hash grid. The index holds exactly one entry
+ * per registered entity: an entity that moves is only moved to another cell when it crosses the border of its cell,
+ * and its entry is discarded when it is removed, so the size of the index never exceeds the number of entities.
+ *
+ * @version	1.0
+ * @author 	Tom De Backer and Quinten Bruynseraede
+ *
+ * @invar	Every registered entity is registered in exactly one cell.
+ */
+class PositionIndex {
+
+	/**
+	 * Creates a new, empty point-location index.
+	 */
+	@Raw
+	PositionIndex() {
+	}
+
+	/**
+	 * Constant registering the length of the sides of the cells of this index, expressed in kilometres.
+	 */
+	private static final double CELLSIZE = 100;
+
+	/**
+	 * Constant registering the maximum number of cells looked up by a single query.
+	 * Queries covering more cells look at every registered entity instead.
+	 */
+	private static final int MAXCELLS = 1024;
+
+	/**
+	 * Constant registering the key of the cell holding the entities whose centre does not lie in any cell.
+	 */
+	private static final long UNLOCATED = Long.MIN_VALUE;
+
+	/**
+	 * Map registering, for each occupied cell, the entities whose centre lies in that cell.
+	 */
+	private final Map<Long, List<Entity>> cells = new HashMap<Long, List<Entity>>();
+
+	/**
+	 * Map registering the key of the cell of every registered entity.
+	 */
+	private final Map<Entity, Long> keys = new HashMap<Entity, Long>();
+
+	/**
+	 * Registers a given entity at its current position, moving it to another cell if necessary.
+	 * @param 	entity
+	 * 			The entity to register.
+	 */
+	void update(Entity entity) {
+		long key = getKey(entity.getXCoordinate(), entity.getYCoordinate());
+		Long current = keys.put(entity, key);
+		if (current != null) {
+			if (current == key)
+				return;
+			removeFromCell(entity, current);
+		}
+		List<Entity> cell = cells.get(key);
+		if (cell == null) {
+			cell = new ArrayList<Entity>(2);
+			cells.put(key, cell);
+		}
+		cell.add(entity);
+	}
+
+	/**
+	 * Removes a given entity from this index.
+	 * @param 	entity
+	 * 			The entity to remove.
+	 */
+	void remove(Entity entity) {
+		Long current = keys.remove(entity);
+		if (current != null)
+			removeFromCell(entity, current);
+	}
+
+	/**
+	 * Removes all entities from this index.
+	 */
+	void clear() {
+		cells.clear();
+		keys.clear();
+	}
+
+	/**
+	 * Returns the registered entity whose centre lies closest to a given position, within a 1% error margin.
+	 * @param 	position
+	 * 			The position to look up.
+	 * @return	| if (result != null)
+	 * 			|	position.isCloseTo(result.getXCoordinate(), result.getYCoordinate())
+	 */
+	Entity getEntityAt(Position position) {
+		double toleranceX = 0.01 * Math.abs(position.getX());
+		double toleranceY = 0.01 * Math.abs(position.getY());
+		double minCellX = Math.floor((position.getX() - toleranceX) / CELLSIZE);
+		double maxCellX = Math.floor((position.getX() + toleranceX) / CELLSIZE);
+		double minCellY = Math.floor((position.getY() - toleranceY) / CELLSIZE);
+		double maxCellY = Math.floor((position.getY() + toleranceY) / CELLSIZE);
+
+		List<Entity> candidates;
+		if ((maxCellX - minCellX + 1) * (maxCellY - minCellY + 1) > MAXCELLS)
+			candidates = new ArrayList<Entity>(keys.keySet());
+		else {
+			candidates = new ArrayList<Entity>();
+			for (double cx = minCellX; cx <= maxCellX; cx++) {
+				for (double cy = minCellY; cy <= maxCellY; cy++) {
+					List<Entity> cell = cells.get(getKey((long) cx, (long) cy));
+					if (cell != null)
+						candidates.addAll(cell);
+				}
+			}
+			List<Entity> unlocated = cells.get(UNLOCATED);
+			if (unlocated != null)
+				candidates.addAll(unlocated);
+		}
+
+		Entity closest = null;
+		double closestDistance = Double.POSITIVE_INFINITY;
+		for (Entity e : candidates) {
+			if (position.isCloseTo(e.getXCoordinate(), e.getYCoordinate())) {
+				double distance = position.getDistanceTo(e.getXCoordinate(), e.getYCoordinate());
+				if (distance < closestDistance) {
+					closest = e;
+					closestDistance = distance;
+				}
+			}
+		}
+		return closest;
+	}
+
+	/**
+	 * Removes a given entity from the cell with a given key.
+	 */
+	private void removeFromCell(Entity entity, long key) {
+		List<Entity> cell = cells.get(key);
+		cell.remove(entity);
+		if (cell.isEmpty())
+			cells.remove(key);
+	}
+
+	/**
+	 * Returns the key of the cell containing given coordinates.
+	 */
+	private static long getKey(double x, double y) {
+		double cx = Math.floor(x / CELLSIZE);
+		double cy = Math.floor(y / CELLSIZE);
+		if (!(Math.abs(cx) <= Integer.MAX_VALUE && Math.abs(cy) <= Integer.MAX_VALUE))
+			return UNLOCATED;
+		return getKey((long) cx, (long) cy);
+	}
+
+	/**
+	 * Returns the key of the cell with the given indices.
+	 */
+	private static long getKey(long cx, long cy) {
+		return (cx << 32) ^ (cy & 0xFFFFFFFFL);
+	}
+}
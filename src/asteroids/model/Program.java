@@ -1,15 +1,17 @@
 package asteroids.model;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
-import asteroids.model.programs.ActionStatement;
-import asteroids.model.programs.Expression;
+import asteroids.model.programs.ExecutionStack;
+import asteroids.model.programs.Frame;
 import asteroids.model.programs.Function;
-import asteroids.model.programs.OutOfTimeException;
+import asteroids.model.programs.Optimizer;
+import asteroids.model.programs.Scope;
 import asteroids.model.programs.Statement;
-import asteroids.model.programs.Variable;
 import asteroids.part3.programs.SourceLocation;
 import be.kuleuven.cs.som.annotate.Basic;
 
@@ -23,11 +25,22 @@ public class Program {
 	private double timeLeft = 0;
 	private List<Function> functions;
 	private List<Object> returns = new ArrayList<Object>();
-	private List<Variable<?>> globalVariables = new ArrayList<Variable<?>>();
+	private Frame globals;
 	private Statement main;
 	private SourceLocation sourceLocation = new SourceLocation(0, 0);
-	private ActionStatement lastExecutedStatement = null;
-	private boolean currentlyInWhile = false;
+	
+	/**
+	 * 	The continuation of the main statement of this program, and whether the main statement is being executed.
+	 * 	An execution that runs out of time is resumed from this continuation the next time this program is executed.
+	 */
+	private final ExecutionStack stack = new ExecutionStack();
+	private boolean running = false;
+	private boolean linked = false;
+	
+	/**
+	 * 	Counts the evaluations of expressions sharing subexpressions, so that shared values are computed once per evaluation.
+	 */
+	private long evaluation = 0;
 	private final static boolean assertionChecking = false;
 
 	
@@ -37,21 +50,62 @@ public class Program {
 	 */
 	private Function currentFunction = null;
 	
+	/**
+	 * 	The frame of the function that is being executed right now, holding the values of its local variables and
+	 * 	its actual arguments. Both are empty if this program is currently not executing any function.
+	 */
+	private Frame locals = new Frame(0);
+	private Object[] arguments = new Object[0];
+	
 	public Program(List<Function> functions, Statement main) {
 		setMain(main);
 		setFunctions(functions);
 		
+		Optimizer optimizer = new Optimizer();
 		for (Function f: getFunctions()) {
 			f.setProgram(this);
+			f.optimize(optimizer);
 		}
-
+		setMain(optimizer.optimize(main));
 		
-		main.setProgram(this);
+		resolveVariables();
+	}
+	
+	/**
+	 * 	Resolves every variable of this program to a slot of a frame, so that no variables have to be looked up by name
+	 * 	while this program is executed.
+	 */
+	private void resolveVariables() {
+		Map<String, Integer> globalSlots = new HashMap<String, Integer>();
+		for (Function f: getFunctions()) {
+			Scope scope = new Scope(this, globalSlots, new HashMap<String, Integer>());
+			f.getBody().resolve(scope);
+			f.setLocalCount(scope.getLocalCount());
+		}
+		Scope scope = new Scope(this, globalSlots, null);
+		main.resolve(scope);
+		this.globals = new Frame(scope.getGlobalCount());
 	}
 	
 	public void loadOnShip(Ship ship) {
-		if (canLoadOnShip(ship))
+		if (canLoadOnShip(ship)) {
 			setShip(ship);
+			link();
+		}
+	}
+	
+	/**
+	 * 	Binds all statements and expressions of this program to this program, resolves all function calls and checks
+	 * 	all function bodies. This is done once, so that none of it has to be done while this program is executed.
+	 */
+	private void link() {
+		if (linked)
+			return;
+		for (Function f: getFunctions()) {
+			f.link();
+		}
+		main.link(this);
+		linked = true;
 	}
 	
 	private boolean canLoadOnShip(Ship ship) {
@@ -64,11 +118,19 @@ public class Program {
 		if (timeLeft < 0.2)
 			return null;
 		
-		try { main.eval(); }
-		catch (OutOfTimeException e) {
-			return null;
+		link();
+		if (!running) {
+			stack.push(main);
+			running = true;
+		}
+		
+		while (!stack.isEmpty()) {
+			stack.peek().step(stack);
+			if (timeLeft < 0.2) //Suspended after an action statement.
+				return null;
 		}
 		
+		running = false;
 		return returns;
 	}
 	
@@ -116,16 +178,6 @@ public class Program {
 		//The collected list will always contain just one element, thus taking the first element yields the correct result.
 	}
 	
-	public Variable<?> getVariableByName(String name) {
-		List<Variable<?>> result = getVariables().stream().filter(f -> f.getName().equals(name)).collect(Collectors.toList());
-		
-		if (result.isEmpty()) {
-			return null;
-		}
-		return result.get(0);	
-		//The collected list will always contain just one element, thus taking the first element yields the correct result.
-	}
-	
 	public void addReturnItem(Object o) {
 		this.returns.add(o);
 	}
@@ -139,19 +191,30 @@ public class Program {
 		this.currentFunction = func;
 	}
 	
-	public void addVariable(String varName, Expression value) {
-		this.globalVariables.add(new Variable(varName, value));
+	public long getEvaluation() {
+		return this.evaluation;
 	}
-	public Object getVariableValue(String varName) {
-		for (Variable v : this.getVariables()) {
-			if (v.getName().equals(varName))
-				return v.eval();
-		}
-		throw new IllegalArgumentException("Non-existent global variable " + varName);
+	
+	public void startEvaluation() {
+		this.evaluation++;
+	}
+	
+	public Frame getGlobals() {
+		return this.globals;
 	}
 	
-	public List<Variable<?>> getVariables() {
-		return this.globalVariables;
+	public Frame getLocals() {
+		return this.locals;
+	}
+	
+	public Object[] getArguments() {
+		return this.arguments;
+	}
+	
+	public void setFrame(Function func, Frame locals, Object[] arguments) {
+		setCurrentFunction(func);
+		this.locals = locals;
+		this.arguments = arguments;
 	}
 	
 	public double getTimeLeft() {
@@ -167,22 +230,6 @@ public class Program {
 	}
 
 
-	public Statement getLastExecutedStatement() {
-		return lastExecutedStatement;
-	}
-
-	public void setLastExecutedStatement(ActionStatement lastExecutedStatement) {
-		this.lastExecutedStatement = lastExecutedStatement;
-	}
-
-	public boolean isCurrentlyInWhile() {
-		return currentlyInWhile;
-	}
-
-	public void setCurrentlyInWhile(boolean currentlyInWhile) {
-		this.currentlyInWhile = currentlyInWhile;
-	}
-	
 	public boolean getAssertionChecking() {
 		return assertionChecking;
 	}	
@@ -71,7 +71,7 @@ public class Ship extends Entity {
 		
 		if (! isValidRadius(radius))  
 			throw new IllegalArgumentException("Non valid radius when initializing ship");
-		this.radius = radius;
+		registerRadius(radius);
 		
 		if (Double.isNaN(mass) || Double.isInfinite(mass)) 
 			this.massShip = (4*Math.PI*Math.pow(radius, 3)*1.42E12)/3.0;
@@ -325,12 +325,17 @@ public class Ship extends Entity {
 	 * 			| 	getBulletsLoaded().contains(b) == true
 	 * @post	| For each Bullet b in bullets
 	 * 			| 	b.getParent() == this
+	 * @throws	IllegalArgumentException
+	 * 			No bullet is added if the collection contains a null bullet.
+	 * 			| for some Bullet b in bullets: b == null
 	 */
 	@Raw
 	public void addBulletToLoaded(Collection<Bullet> bullets) throws IllegalArgumentException {
 		for (Bullet bullet : bullets) {
 			if (bullet == null)
 				throw new IllegalArgumentException("List of bullets contains null bullet");
+		}
+		for (Bullet bullet : bullets) {
 			if (! this.bulletsLoaded.contains(bullet)) {
 				bulletsLoaded.add(bullet);
 				bullet.setParent(this);
@@ -394,7 +399,8 @@ public class Ship extends Entity {
 						bullet.getYCoordinate() > getWorld().getHeight())
 			bullet.finalize();
 		
-		for (Entity e: getWorld().getEntities()) { //Immediately collide
+		getWorld().updateEntity(bullet);
+		for (Entity e: getWorld().getOverlapCandidates(bullet)) { //Immediately collide
 			if (bullet.overlap(e) && e != bullet) {
 				bullet.collideWith(e);
 			}
@@ -427,7 +433,7 @@ public class Ship extends Entity {
 	@Override
 	public void setRadius(double radius) {
 		if (isValidRadius(radius))
-			this.radius = radius;
+			registerRadius(radius);
 		else
 			throw new IllegalArgumentException("Non valid radius.");
 	}
@@ -551,40 +557,13 @@ public class Ship extends Entity {
 	
 	
 	/**
-	 *  Resolves a collision between this ship and another entity
-	 * 	@param	entity
-	 * 			The entity that will collide with this ship.
-	 *	@post	If the given entity  a Ship, the velocities of the two ships are updated to reflect a collision.
-	 * 			| if (entity instanceof Ship)
-	 * 			|	@see implementation
-	 *	@post	If the given entity is not an instance the Ship class, that entity will invoke his own collideWith method.
-	 *			| if (!entity instanceof Ship)
-	 *			|		entity.collideWith(this);
+	 *  Resolves a collision between this ship and another ship.
+	 * 	@param	ship
+	 * 			The ship that will collide with this ship.
+	 *	@effect	The velocities of the two ships are updated to reflect an elastic collision.
+	 * 			| ImpulseSolver.bounce(this, getMassTotal(), ship, ship.getMassTotal())
 	 */
-	@Override
-	public void collideWith(Entity entity) {
-		if (entity instanceof Ship) {
-			Ship ship1 = this;
-			Ship ship2 = (Ship) entity;
-				 
-			double deltaVX = ship2.getXVelocity() - ship1.getXVelocity();
-			double deltaVY = ship2.getYVelocity() - ship1.getYVelocity();
-			double deltaRX = ship2.getXCoordinate() - ship1.getXCoordinate();
-			double deltaRY = ship2.getYCoordinate() - ship1.getYCoordinate();
-			double sigma = Math.sqrt(Math.pow(ship1.getXCoordinate()-ship2.getXCoordinate(), 2) + Math.pow(ship1.getYCoordinate()-ship2.getYCoordinate(), 2));
-			
-			double J = (2*ship1.getMassTotal()*ship2.getMassTotal()*(deltaVX * deltaRX + deltaVY * deltaRY))/(sigma*(ship1.getMassTotal()+ship2.getMassTotal()));
-			double Jx = J*deltaRX/sigma;
-			double Jy = J*deltaRY/sigma;
-			
-			ship1.setXVelocity(ship1.getXVelocity() + (Jx/ship1.getMassTotal()));
-			ship1.setYVelocity(ship1.getYVelocity() + (Jy/ship1.getMassTotal()));
-			ship2.setXVelocity(ship2.getXVelocity() - (Jx/ship2.getMassTotal()));
-			ship2.setYVelocity(ship2.getYVelocity() - (Jy/ship2.getMassTotal()));
-			
-			return;
-		}
-		else 
-			entity.collideWith(this);
+	void collideWithShip(Ship ship) {
+		ImpulseSolver.bounce(this, getMassTotal(), ship, ship.getMassTotal());
 	}
 }
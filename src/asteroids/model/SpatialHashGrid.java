@@ -0,0 +1,300 @@
+package asteroids.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Raw;
+
+/**
+ * A class of uniform spatial hash grids, used to find the entities that may collide with a given entity
+ * before a given moment in time.
+ *
+ * Every entity is registered in all cells covered by its swept bounds: the smallest box containing the entity
+ * during its entire straight-line motion from now until the horizon of this grid. Two entities can only collide
+ * before the horizon if their swept bounds share a cell.
+ *
+ * @version	1.0
+ * @author 	Tom De Backer and Quinten Bruynseraede
+ *
+ * @invar	The size of the cells of this grid is strictly positive.
+ * 			| getCellSize() > 0
+ */
+class SpatialHashGrid implements BroadPhase {
+
+	/**
+	 * Creates a new, empty spatial hash grid for a given world.
+	 * @param 	world
+	 * 			The world whose entities are kept in this grid.
+	 */
+	@Raw
+	SpatialHashGrid(World world) {
+		this.world = world;
+	}
+
+	/**
+	 * Variable registering the world whose entities are kept in this grid.
+	 */
+	private final World world;
+
+	/**
+	 * Variable registering the absolute world time up to which the swept bounds of the entities are computed.
+	 */
+	private double horizon = 0;
+
+	/**
+	 * Returns the absolute world time up to which the swept bounds of the entities are computed.
+	 */
+	@Basic
+	@Override
+	public double getHorizon() {
+		return this.horizon;
+	}
+
+	/**
+	 * Variable registering the length of the sides of the cells of this grid, expressed in kilometres.
+	 */
+	private double cellSize = 1;
+
+	/**
+	 * Returns the length of the sides of the cells of this grid, expressed in kilometres.
+	 */
+	@Basic
+	double getCellSize() {
+		return this.cellSize;
+	}
+
+	/**
+	 * Constant registering the maximum number of cells an entity is registered in.
+	 * Entities whose swept bounds cover more cells are tested against every other entity.
+	 */
+	private static final int MAXCELLS = 256;
+
+	/**
+	 * Map registering, for each occupied cell, the entities whose swept bounds cover that cell.
+	 */
+	private final Map<Long, List<Entity>> cells = new HashMap<Long, List<Entity>>();
+
+	/**
+	 * Map registering the swept bounds of every entity in this grid.
+	 */
+	private final Map<Entity, Bounds> bounds = new HashMap<Entity, Bounds>();
+
+	/**
+	 * List registering the entities whose swept bounds cover too many cells to be registered in them.
+	 */
+	private final List<Entity> oversized = new ArrayList<Entity>();
+
+	/**
+	 * Registers all entities of the world again, using swept bounds that reach until a given horizon.
+	 * The size of the cells is chosen to match the average extent of the swept bounds.
+	 */
+	@Override
+	public void rebuild(double horizon) {
+		this.horizon = horizon;
+		cells.clear();
+		bounds.clear();
+		oversized.clear();
+
+		List<Bounds> all = new ArrayList<Bounds>();
+		double totalExtent = 0;
+		int finite = 0;
+		for (Entity e : world.getEntities()) {
+			if (e.isStatic())
+				continue;
+			Bounds b = new Bounds(e, getTimeLeft());
+			all.add(b);
+			if (b.isFinite()) {
+				totalExtent += Math.max(b.getMaxX() - b.getMinX(), b.getMaxY() - b.getMinY());
+				finite++;
+			}
+		}
+		if (finite > 0 && totalExtent / finite > 0 && Double.isFinite(totalExtent / finite))
+			cellSize = totalExtent / finite;
+
+		for (Bounds b : all)
+			insert(b);
+	}
+
+	/**
+	 * Registers a given entity in this grid, or registers it again using its current position and motion.
+	 */
+	@Override
+	public void add(Entity entity) {
+		remove(entity);
+		insert(new Bounds(entity, getTimeLeft()));
+	}
+
+	/**
+	 * Registers a given entity again if its velocity changed or its radius grew since it was registered.
+	 */
+	@Override
+	public void update(Entity entity) {
+		Bounds b = bounds.get(entity);
+		if (b != null && b.isOutdated())
+			add(entity);
+	}
+
+	/**
+	 * Removes a given entity from this grid.
+	 */
+	@Override
+	public void remove(Entity entity) {
+		Bounds b = bounds.remove(entity);
+		if (b == null)
+			return;
+		if (b.oversized) {
+			oversized.remove(entity);
+			return;
+		}
+		for (long cx = b.minCellX; cx <= b.maxCellX; cx++) {
+			for (long cy = b.minCellY; cy <= b.maxCellY; cy++) {
+				List<Entity> cell = cells.get(key(cx, cy));
+				if (cell != null) {
+					cell.remove(entity);
+					if (cell.isEmpty())
+						cells.remove(key(cx, cy));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns all entities whose swept bounds share a cell with, and overlap, the swept bounds of a given entity.
+	 */
+	@Override
+	public List<Entity> getCandidates(Entity entity) {
+		Bounds b = bounds.get(entity);
+		if (b == null)
+			return collect(new Bounds(entity, getTimeLeft()), entity);
+		return collect(b, entity);
+	}
+
+	/**
+	 * Returns all entities whose swept bounds share a cell with, and overlap, the current position of a given entity.
+	 */
+	@Override
+	public List<Entity> getOverlapCandidates(Entity entity) {
+		return collect(new Bounds(entity, 0), entity);
+	}
+
+	/**
+	 * Returns all entities other than a given entity whose swept bounds share a cell with, and overlap, given bounds.
+	 * @param 	b
+	 * 			The bounds to find overlapping entities for.
+	 * @param 	entity
+	 * 			The entity to leave out of the result.
+	 */
+	private List<Entity> collect(Bounds b, Entity entity) {
+		if (!b.located)
+			locate(b);
+		if (b.oversized) {
+			List<Entity> result = new ArrayList<Entity>(bounds.keySet());
+			result.remove(entity);
+			return result;
+		}
+
+		//Each entity is reported in the first cell it shares with the given bounds only, so that queries leave
+		//this grid untouched and may be answered concurrently.
+		List<Entity> result = new ArrayList<Entity>();
+		for (long cx = b.minCellX; cx <= b.maxCellX; cx++) {
+			for (long cy = b.minCellY; cy <= b.maxCellY; cy++) {
+				List<Entity> cell = cells.get(key(cx, cy));
+				if (cell == null)
+					continue;
+				for (Entity other : cell) {
+					Bounds otherBounds = bounds.get(other);
+					if (cx == Math.max(b.minCellX, otherBounds.minCellX) && cy == Math.max(b.minCellY, otherBounds.minCellY)
+							&& other != entity && b.overlaps(otherBounds))
+						result.add(other);
+				}
+			}
+		}
+		for (Entity other : oversized) {
+			if (other != entity)
+				result.add(other);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the time left until the horizon of this grid.
+	 */
+	private double getTimeLeft() {
+		return Math.max(0, getHorizon() - world.getTime());
+	}
+
+	/**
+	 * Registers the given bounds in all cells they cover, or as oversized if they cover too many cells.
+	 * @param 	b
+	 * 			The bounds to register.
+	 */
+	private void insert(Bounds b) {
+		bounds.put(b.getEntity(), b);
+		locate(b);
+		if (b.oversized) {
+			oversized.add(b.getEntity());
+			return;
+		}
+		for (long cx = b.minCellX; cx <= b.maxCellX; cx++) {
+			for (long cy = b.minCellY; cy <= b.maxCellY; cy++) {
+				List<Entity> cell = cells.get(key(cx, cy));
+				if (cell == null) {
+					cell = new ArrayList<Entity>(4);
+					cells.put(key(cx, cy), cell);
+				}
+				cell.add(b.getEntity());
+			}
+		}
+	}
+
+	/**
+	 * Computes the range of cells covered by the given bounds, or marks them as oversized if they cover too many cells.
+	 * @param 	b
+	 * 			The bounds to locate.
+	 */
+	private void locate(Bounds b) {
+		b.located = true;
+		if (!b.isFinite()) {
+			b.oversized = true;
+			return;
+		}
+		b.minCellX = (long) Math.floor(b.getMinX() / cellSize);
+		b.minCellY = (long) Math.floor(b.getMinY() / cellSize);
+		b.maxCellX = (long) Math.floor(b.getMaxX() / cellSize);
+		b.maxCellY = (long) Math.floor(b.getMaxY() / cellSize);
+		if (b.minCellX < Integer.MIN_VALUE || b.maxCellX > Integer.MAX_VALUE || b.minCellY < Integer.MIN_VALUE || b.maxCellY > Integer.MAX_VALUE
+				|| (b.maxCellX - b.minCellX + 1) * (b.maxCellY - b.minCellY + 1) > MAXCELLS)
+			b.oversized = true;
+	}
+
+	/**
+	 * Returns the key of the cell with the given indices.
+	 */
+	private static long key(long cx, long cy) {
+		return (cx << 32) ^ (cy & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * A class of swept bounds, together with the cells of this grid they cover.
+	 */
+	private static class Bounds extends SweptBounds {
+
+		/**
+		 * Creates the swept bounds of a given entity moving in a straight line during a given time.
+		 * @param 	entity
+		 * 			The entity whose bounds are computed.
+		 * @param 	time
+		 * 			The duration of the motion.
+		 */
+		Bounds(Entity entity, double time) {
+			super(entity, time);
+		}
+
+		private long minCellX, maxCellX, minCellY, maxCellY;
+		private boolean located = false;
+		private boolean oversized = false;
+	}
+}
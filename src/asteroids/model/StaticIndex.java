@@ -0,0 +1,236 @@
+package asteroids.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import be.kuleuven.cs.som.annotate.Raw;
+
+/**
+ * A class of indexes of static entities, used to find the static entities that a given entity may collide with.
+ *
+ * Static entities never move, so their registration never has to be renewed while time passes: an entity is only
+ * registered again when it is added to or removed from its world, or when its radius changes. Every entity is
+ * registered in all cells of a uniform hash grid that its box covers.
+ *
+ * @version	1.0
+ * @author 	Tom De Backer and Quinten Bruynseraede
+ */
+class StaticIndex {
+
+	/**
+	 * Creates a new, empty index of static entities.
+	 */
+	@Raw
+	StaticIndex() {
+	}
+
+	/**
+	 * Constant registering the length of the sides of the cells of this index, expressed in kilometres.
+	 */
+	private static final double CELLSIZE = 500;
+
+	/**
+	 * Constant registering the maximum number of cells visited by a single query, or covered by a single entity.
+	 * Larger queries check all registered entities, and larger entities are checked by every query.
+	 */
+	private static final int MAXCELLS = 1024;
+
+	/**
+	 * Map registering, for each occupied cell, the entities whose box covers that cell.
+	 */
+	private final Map<Long, List<Entity>> cells = new HashMap<Long, List<Entity>>();
+
+	/**
+	 * Map registering the box of every registered entity, in the order in which they were registered.
+	 */
+	private final Map<Entity, Box> boxes = new LinkedHashMap<Entity, Box>();
+
+	/**
+	 * List registering the entities whose box covers too many cells to be registered in them.
+	 */
+	private final List<Entity> oversized = new ArrayList<Entity>();
+
+	/**
+	 * Returns the number of registered entities.
+	 */
+	int getSize() {
+		return boxes.size();
+	}
+
+	/**
+	 * Registers a given entity at its current position, or registers it again using its current position and radius.
+	 * @param 	entity
+	 * 			The entity to register.
+	 */
+	void add(Entity entity) {
+		remove(entity);
+		Box box = new Box(new SweptBounds(entity, 0));
+		boxes.put(entity, box);
+		if (box.oversized) {
+			oversized.add(entity);
+			return;
+		}
+		for (long cx = box.minCellX; cx <= box.maxCellX; cx++) {
+			for (long cy = box.minCellY; cy <= box.maxCellY; cy++) {
+				List<Entity> cell = cells.get(getKey(cx, cy));
+				if (cell == null) {
+					cell = new ArrayList<Entity>(2);
+					cells.put(getKey(cx, cy), cell);
+				}
+				cell.add(entity);
+			}
+		}
+	}
+
+	/**
+	 * Removes a given entity from this index.
+	 * @param 	entity
+	 * 			The entity to remove.
+	 */
+	void remove(Entity entity) {
+		Box box = boxes.remove(entity);
+		if (box == null)
+			return;
+		if (box.oversized) {
+			oversized.remove(entity);
+			return;
+		}
+		for (long cx = box.minCellX; cx <= box.maxCellX; cx++) {
+			for (long cy = box.minCellY; cy <= box.maxCellY; cy++) {
+				List<Entity> cell = cells.get(getKey(cx, cy));
+				cell.remove(entity);
+				if (cell.isEmpty())
+					cells.remove(getKey(cx, cy));
+			}
+		}
+	}
+
+	/**
+	 * Removes all entities from this index.
+	 */
+	void clear() {
+		cells.clear();
+		boxes.clear();
+		oversized.clear();
+	}
+
+	/**
+	 * Returns all registered entities other than a given entity whose box overlaps the motion of the given entity
+	 * during a given time.
+	 * @param 	entity
+	 * 			The entity to find candidates for.
+	 * @param 	time
+	 * 			The time during which the entity moves.
+	 * @return	| for each registered Entity e:
+	 * 			|	if (e != entity && e.getTimeToCollision(entity) < time)
+	 * 			|		result.contains(e)
+	 * @note	Queries leave this index untouched, so that they may be answered concurrently.
+	 */
+	List<Entity> getCandidates(Entity entity, double time) {
+		return collect(new Box(new SweptBounds(entity, Math.max(0, time))), entity);
+	}
+
+	/**
+	 * Returns all registered entities other than a given entity whose box overlaps the current position of the
+	 * given entity.
+	 * @param 	entity
+	 * 			The entity to find overlapping entities for.
+	 * @return	| for each registered Entity e:
+	 * 			|	if (e != entity && e.overlap(entity))
+	 * 			|		result.contains(e)
+	 */
+	List<Entity> getOverlapCandidates(Entity entity) {
+		return getCandidates(entity, 0);
+	}
+
+	/**
+	 * Returns all registered entities other than a given entity whose box overlaps a given box.
+	 */
+	private List<Entity> collect(Box box, Entity entity) {
+		List<Entity> result = new ArrayList<Entity>();
+		if (boxes.isEmpty())
+			return result;
+		if (box.oversized) {
+			for (Map.Entry<Entity, Box> registered : boxes.entrySet()) {
+				if (registered.getKey() != entity && box.bounds.overlaps(registered.getValue().bounds))
+					result.add(registered.getKey());
+			}
+			return result;
+		}
+		//Each entity is reported in the first cell it shares with the given box only.
+		for (long cx = box.minCellX; cx <= box.maxCellX; cx++) {
+			for (long cy = box.minCellY; cy <= box.maxCellY; cy++) {
+				List<Entity> cell = cells.get(getKey(cx, cy));
+				if (cell == null)
+					continue;
+				for (Entity other : cell) {
+					Box otherBox = boxes.get(other);
+					if (cx == Math.max(box.minCellX, otherBox.minCellX) && cy == Math.max(box.minCellY, otherBox.minCellY)
+							&& other != entity && box.bounds.overlaps(otherBox.bounds))
+						result.add(other);
+				}
+			}
+		}
+		for (Entity other : oversized) {
+			if (other != entity && box.bounds.overlaps(boxes.get(other).bounds))
+				result.add(other);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the index of the cell containing a given coordinate.
+	 */
+	private static long getCell(double coordinate) {
+		return (long) Math.floor(coordinate / CELLSIZE);
+	}
+
+	/**
+	 * Returns the key of the cell with the given indices.
+	 */
+	private static long getKey(long cx, long cy) {
+		return (cx << 32) ^ (cy & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * A class of boxes, registering bounds together with the range of cells they cover.
+	 */
+	private static class Box {
+
+		/**
+		 * Creates a new box for given bounds.
+		 * @param 	bounds
+		 * 			The bounds of the box.
+		 */
+		Box(SweptBounds bounds) {
+			this.bounds = bounds;
+			if (!bounds.isFinite()) {
+				oversized = true;
+				return;
+			}
+			minCellX = getCell(bounds.getMinX());
+			maxCellX = getCell(bounds.getMaxX());
+			minCellY = getCell(bounds.getMinY());
+			maxCellY = getCell(bounds.getMaxY());
+			oversized = (double) (maxCellX - minCellX + 1) * (maxCellY - minCellY + 1) > MAXCELLS;
+		}
+
+		/**
+		 * Variable registering the bounds of this box.
+		 */
+		private final SweptBounds bounds;
+
+		/**
+		 * Variables registering the range of cells covered by this box.
+		 */
+		private long minCellX, maxCellX, minCellY, maxCellY;
+
+		/**
+		 * Variable registering whether this box covers too many cells to be handled cell by cell.
+		 */
+		private boolean oversized;
+	}
+}
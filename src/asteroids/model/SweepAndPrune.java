@@ -0,0 +1,264 @@
+package asteroids.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Raw;
+
+/**
+ * A class of sweep-and-prune broad-phases, used to find the entities that may collide with a given entity
+ * before a given moment in time.
+ *
+ * The swept bounds of all entities are kept sorted by their smallest x coordinate. Sweeping along that axis yields
+ * every pair of entities whose bounds overlap; only those pairs can collide before the horizon. Since entities
+ * move little between two invocations of rebuild, the order of the previous invocation is kept and restored
+ * using insertion sort, which takes linear time on an almost sorted axis. Unlike a uniform grid, the cost of the
+ * sweep does not depend on how much the radii of the entities differ.
+ *
+ * @version	1.0
+ * @author 	Tom De Backer and Quinten Bruynseraede
+ *
+ * @invar	The swept bounds on the axis are sorted by their smallest x coordinate.
+ */
+class SweepAndPrune implements BroadPhase {
+
+	/**
+	 * Creates a new, empty sweep-and-prune broad-phase for a given world.
+	 * @param 	world
+	 * 			The world whose entities are kept in this broad-phase.
+	 */
+	@Raw
+	SweepAndPrune(World world) {
+		this.world = world;
+	}
+
+	/**
+	 * Variable registering the world whose entities are kept in this broad-phase.
+	 */
+	private final World world;
+
+	/**
+	 * Variable registering the absolute world time up to which the swept bounds of the entities are computed.
+	 */
+	private double horizon = 0;
+
+	/**
+	 * Returns the absolute world time up to which the swept bounds of the entities are computed.
+	 */
+	@Basic
+	@Override
+	public double getHorizon() {
+		return this.horizon;
+	}
+
+	/**
+	 * List registering the swept bounds of all entities, sorted by their smallest x coordinate.
+	 */
+	private final List<Bounds> axis = new ArrayList<Bounds>();
+
+	/**
+	 * Map registering the swept bounds of every entity in this broad-phase.
+	 */
+	private final Map<Entity, Bounds> bounds = new HashMap<Entity, Bounds>();
+
+	/**
+	 * Computes the swept bounds of all entities of the world again, restores the order of the axis and
+	 * sweeps it to find all pairs of overlapping bounds.
+	 */
+	@Override
+	public void rebuild(double horizon) {
+		this.horizon = horizon;
+		bounds.clear();
+
+		List<Bounds> previous = new ArrayList<Bounds>(axis);
+		axis.clear();
+		for (Bounds b : previous) {
+			if (world.hasAsEntity(b.getEntity()))
+				register(new Bounds(b.getEntity(), getTimeLeft()), axis.size());
+		}
+		for (Entity e : world.getEntities()) {
+			if (!e.isStatic() && !bounds.containsKey(e))
+				register(new Bounds(e, getTimeLeft()), axis.size());
+		}
+		sortAxis();
+		sweep();
+	}
+
+	/**
+	 * Registers a given entity on the axis, or registers it again using its current position and motion.
+	 * @note	The candidates of the entity are found by scanning the axis up to the largest x coordinate of its bounds.
+	 */
+	@Override
+	public void add(Entity entity) {
+		remove(entity);
+		Bounds b = new Bounds(entity, getTimeLeft());
+		register(b, getInsertionIndex(b.getMinX()));
+		for (Bounds other : axis) {
+			if (other.getMinX() > b.getMaxX())
+				break;
+			if (other != b && b.overlaps(other)) {
+				b.candidates.add(other.getEntity());
+				other.candidates.add(entity);
+			}
+		}
+	}
+
+	/**
+	 * Registers a given entity again if its velocity changed or its radius grew since it was registered.
+	 */
+	@Override
+	public void update(Entity entity) {
+		Bounds b = bounds.get(entity);
+		if (b != null && b.isOutdated())
+			add(entity);
+	}
+
+	/**
+	 * Removes a given entity from the axis.
+	 */
+	@Override
+	public void remove(Entity entity) {
+		Bounds b = bounds.remove(entity);
+		if (b == null)
+			return;
+		axis.remove(b);
+		for (Entity other : b.candidates)
+			bounds.get(other).candidates.remove(entity);
+	}
+
+	/**
+	 * Returns all entities whose swept bounds overlap with the swept bounds of a given entity.
+	 * @note	The candidates of an entity that is not registered are found by scanning the axis up to the largest
+	 * 			x coordinate of its bounds.
+	 */
+	@Override
+	public List<Entity> getCandidates(Entity entity) {
+		Bounds b = bounds.get(entity);
+		if (b == null)
+			return scan(new SweptBounds(entity, getTimeLeft()), entity);
+		return new ArrayList<Entity>(b.candidates);
+	}
+
+	/**
+	 * Returns all entities whose swept bounds overlap with the current position of a given entity.
+	 * @note	The axis is scanned up to the largest x coordinate of the position of the entity.
+	 */
+	@Override
+	public List<Entity> getOverlapCandidates(Entity entity) {
+		return scan(new SweptBounds(entity, 0), entity);
+	}
+
+	/**
+	 * Returns all entities other than a given entity whose swept bounds overlap with given bounds.
+	 * @param 	b
+	 * 			The bounds to find overlapping entities for.
+	 * @param 	entity
+	 * 			The entity to leave out of the result.
+	 */
+	private List<Entity> scan(SweptBounds b, Entity entity) {
+		if (!b.isFinite()) {
+			List<Entity> result = new ArrayList<Entity>(bounds.keySet());
+			result.remove(entity);
+			return result;
+		}
+		List<Entity> result = new ArrayList<Entity>();
+		for (Bounds other : axis) {
+			if (other.getMinX() > b.getMaxX())
+				break;
+			if (other.getEntity() != entity && b.overlaps(other))
+				result.add(other.getEntity());
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the time left until the horizon of this broad-phase.
+	 */
+	private double getTimeLeft() {
+		return Math.max(0, getHorizon() - world.getTime());
+	}
+
+	/**
+	 * Registers the given bounds at a given index on the axis.
+	 */
+	private void register(Bounds b, int index) {
+		bounds.put(b.getEntity(), b);
+		axis.add(index, b);
+	}
+
+	/**
+	 * Returns the index at which bounds with a given smallest x coordinate are to be inserted on the axis.
+	 */
+	private int getInsertionIndex(double minX) {
+		int low = 0;
+		int high = axis.size();
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (axis.get(middle).getMinX() <= minX)
+				low = middle + 1;
+			else
+				high = middle;
+		}
+		return low;
+	}
+
+	/**
+	 * Sorts the axis by the smallest x coordinate of the bounds using insertion sort.
+	 * @note	Insertion sort runs in linear time on an axis that is almost sorted.
+	 */
+	private void sortAxis() {
+		for (int i = 1; i < axis.size(); i++) {
+			Bounds b = axis.get(i);
+			int j = i - 1;
+			while (j >= 0 && axis.get(j).getMinX() > b.getMinX()) {
+				axis.set(j + 1, axis.get(j));
+				j--;
+			}
+			axis.set(j + 1, b);
+		}
+	}
+
+	/**
+	 * Sweeps the axis, registering every pair of overlapping bounds as candidates of each other.
+	 */
+	private void sweep() {
+		List<Bounds> active = new ArrayList<Bounds>();
+		for (Bounds b : axis) {
+			int kept = 0;
+			for (int i = 0; i < active.size(); i++) {
+				Bounds other = active.get(i);
+				if (other.getMaxX() < b.getMinX())
+					continue;
+				active.set(kept++, other);
+				if (b.getMinY() <= other.getMaxY() && other.getMinY() <= b.getMaxY()) {
+					b.candidates.add(other.getEntity());
+					other.candidates.add(b.getEntity());
+				}
+			}
+			active.subList(kept, active.size()).clear();
+			active.add(b);
+		}
+	}
+
+	/**
+	 * A class of swept bounds, together with the entities whose swept bounds overlap with them.
+	 */
+	private static class Bounds extends SweptBounds {
+
+		/**
+		 * Creates the swept bounds of a given entity moving in a straight line during a given time.
+		 * @param 	entity
+		 * 			The entity whose bounds are computed.
+		 * @param 	time
+		 * 			The duration of the motion.
+		 */
+		Bounds(Entity entity, double time) {
+			super(entity, time);
+		}
+
+		private final List<Entity> candidates = new ArrayList<Entity>();
+	}
+}
@@ -0,0 +1,156 @@
+package asteroids.model;
+
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Immutable;
+
+/**
+ * A class of swept bounds: the smallest axis-aligned box containing an entity during its straight-line motion
+ * over a given duration.
+ *
+ * @version	1.0
+ * @author 	Tom De Backer and Quinten Bruynseraede
+ *
+ * @invar	The bounds contain the entity at the start of its motion.
+ * 			| getMinX() <= getEntity().getXCoordinate() - getEntity().getRadius()
+ */
+class SweptBounds {
+
+	/**
+	 * Creates the swept bounds of a given entity moving in a straight line during a given time.
+	 * @param 	entity
+	 * 			The entity whose bounds are computed.
+	 * @param 	time
+	 * 			The duration of the motion.
+	 * @effect	| this(entity, time, 0.01 * entity.getRadius() + 0.001)
+	 * @note	The bounds are enlarged slightly to account for rounding errors in the time to a collision.
+	 */
+	SweptBounds(Entity entity, double time) {
+		this(entity, time, 0.01 * entity.getRadius() + 0.001);
+	}
+
+	/**
+	 * Creates the swept bounds of a given entity moving in a straight line during a given time, enlarged
+	 * by a given margin on every side.
+	 * @param 	entity
+	 * 			The entity whose bounds are computed.
+	 * @param 	time
+	 * 			The duration of the motion.
+	 * @param 	margin
+	 * 			The distance by which the bounds are enlarged.
+	 */
+	SweptBounds(Entity entity, double time, double margin) {
+		this.entity = entity;
+		this.xVelocity = entity.getXVelocity();
+		this.yVelocity = entity.getYVelocity();
+		this.radius = entity.getRadius();
+		double x = entity.getXCoordinate();
+		double y = entity.getYCoordinate();
+		double endX = (xVelocity == 0) ? x : x + xVelocity * time;
+		double endY = (yVelocity == 0) ? y : y + yVelocity * time;
+		this.minX = Math.min(x, endX) - radius - margin;
+		this.maxX = Math.max(x, endX) + radius + margin;
+		this.minY = Math.min(y, endY) - radius - margin;
+		this.maxY = Math.max(y, endY) + radius + margin;
+	}
+
+	/**
+	 * Variable registering the entity these bounds belong to.
+	 */
+	private final Entity entity;
+
+	/**
+	 * Variables registering the velocity and radius of the entity at the moment these bounds were computed.
+	 */
+	private final double xVelocity, yVelocity, radius;
+
+	/**
+	 * Variables registering the extent of these bounds.
+	 */
+	private final double minX, maxX, minY, maxY;
+
+	/**
+	 * Returns the entity these bounds belong to.
+	 */
+	@Basic
+	@Immutable
+	Entity getEntity() {
+		return this.entity;
+	}
+
+	/**
+	 * Returns the smallest x coordinate within these bounds.
+	 */
+	@Basic
+	@Immutable
+	double getMinX() {
+		return this.minX;
+	}
+
+	/**
+	 * Returns the largest x coordinate within these bounds.
+	 */
+	@Basic
+	@Immutable
+	double getMaxX() {
+		return this.maxX;
+	}
+
+	/**
+	 * Returns the smallest y coordinate within these bounds.
+	 */
+	@Basic
+	@Immutable
+	double getMinY() {
+		return this.minY;
+	}
+
+	/**
+	 * Returns the largest y coordinate within these bounds.
+	 */
+	@Basic
+	@Immutable
+	double getMaxY() {
+		return this.maxY;
+	}
+
+	/**
+	 * Returns whether these bounds are finite in every direction.
+	 */
+	boolean isFinite() {
+		return Double.isFinite(minX) && Double.isFinite(maxX) && Double.isFinite(minY) && Double.isFinite(maxY);
+	}
+
+	/**
+	 * Returns whether these bounds overlap with other bounds.
+	 * @param 	other
+	 * 			The other bounds.
+	 */
+	boolean overlaps(SweptBounds other) {
+		return minX <= other.maxX && other.minX <= maxX && minY <= other.maxY && other.minY <= maxY;
+	}
+
+	/**
+	 * Returns whether these bounds fully contain other bounds.
+	 * @param 	other
+	 * 			The other bounds.
+	 */
+	boolean contains(SweptBounds other) {
+		return minX <= other.minX && other.maxX <= maxX && minY <= other.minY && other.maxY <= maxY;
+	}
+
+	/**
+	 * Returns whether these bounds may no longer contain the future motion of their entity.
+	 * @return	| result == (getEntity().getXVelocity() != xVelocity || getEntity().getYVelocity() != yVelocity
+	 * 			|				|| getEntity().getRadius() > radius || !contains(new SweptBounds(getEntity(), 0, 0)))
+	 * @note	The bounds of an entity that keeps moving in the same straight line remain valid as it advances,
+	 * 			and so do the bounds of an entity that shrinks, until the entity leaves them.
+	 */
+	boolean isOutdated() {
+		if (entity.getXVelocity() != xVelocity || entity.getYVelocity() != yVelocity || entity.getRadius() > radius)
+			return true;
+		double x = entity.getXCoordinate();
+		double y = entity.getYCoordinate();
+		double r = entity.getRadius();
+		return !(minX <= x - r && x + r <= maxX && minY <= y - r && y + r <= maxY);
+	}
+}
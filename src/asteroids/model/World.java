@@ -4,7 +4,8 @@ import be.kuleuven.cs.som.annotate.Basic;
 import be.kuleuven.cs.som.annotate.Raw;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import asteroids.part2.CollisionListener;
 
@@ -66,6 +67,8 @@ public class World {
 			this.height = HEIGHTUPPERBOUND;
 		else
 			this.height = height;
+		
+		indexes.put(Entity.class, entities);
 	}
 	
 	/**
@@ -121,20 +124,32 @@ public class World {
 	/**
 	 * Set registering the entity contained by this world
 	 */	
-	private Set<Entity> entities = new HashSet<Entity>();
+	private final EntitySet<Entity> entities = new EntitySet<Entity>();
 	
 	
 	/**
-	 * Map that maps all entities on their respective positions
+	 * Store holding the position, velocity and radius of every entity in this world
 	 */
-	private Map<Position, Entity> entityPositions = new HashMap<Position, Entity>();
+	private final KinematicStore kinematics = new KinematicStore();
 	
 	/**
-	 * Updates the position of an entity, to ensure consistency with the actual state of the world when using getInstanceAtPosition()
+	 * Returns the store holding the position, velocity and radius of every entity in this world.
 	 */
-	private void updatePosition(Entity e) {
-			entityPositions.put(new Position(e.getXCoordinate(), e.getYCoordinate()), e);
+	@Basic
+	KinematicStore getKinematics() {
+		return kinematics;
 	}
+	
+	/**
+	 * Point-location index registering the position of every entity in this world, used by getInstanceAtPosition()
+	 */
+	private final PositionIndex positions = new PositionIndex();
+	
+	/**
+	 * Variable registering the time of this world at which the positions of all entities were last registered in
+	 * the position index.
+	 */
+	private double positionsTime = 0;
 		
 	/**
 	 * 
@@ -150,21 +165,26 @@ public class World {
 	 * @post	| new.getEntities().size = getEntities().size + 1
 	 * @post	| if (e.getTimeFirstCollisionBoundary() <= 0)
 	 * 			|	e.isFinalized() == true
+	 * @note	While this world is resolving collisions, the entity is only added once the collisions have been
+	 * 			resolved, as if by spawn(). No exception is thrown if it cannot be added then; it is finalized instead.
 	 * 
 	 */
 	public void addEntity(Entity e) throws IllegalArgumentException, IllegalStateException {
 		if (e == null)
 			throw new IllegalArgumentException("Null object");
-		if (getEntities().contains(e)) 
+		if (hasAsEntity(e) || commands.isAdding(e)) 
 			throw new IllegalArgumentException("Already in this world");
+		if (commands.isOpen()) {
+			commands.add(e);
+			return;
+		}
 		
-		entities.add(e);
-		updatePosition(e);
+		register(e);
 		
 		if (!isEntityWithinBounds(e)) //INVAR: Fully within bounds of world
 			e.finalize();
 		
-		for (Entity entity: getEntities()) { //INVAR: No overlap with other entities
+		for (Entity entity: getOverlapCandidates(e)) { //INVAR: No overlap with other entities
 			if (e.overlap(entity) && entity != e) {
 				if (e instanceof Bullet) {
 					if (((Bullet) e).getParent() == entity) 
@@ -177,6 +197,113 @@ public class World {
 		}
 	}
 
+	/**
+	 * Adds all given entities that can be added to this world, and reports for each of them whether it was added.
+	 * @param 	entities
+	 * 			The entities to add to this world, in the order in which they are added.
+	 * @return	An array registering, for each given entity in the order of the given collection, whether it was added.
+	 * 			An entity is added if and only if it is not null, does not belong to this world or another world yet,
+	 * 			lies within the bounds of this world, does not overlap any entity of this world, including the entities
+	 * 			added before it, except for a bullet overlapping its parent, and can have this world as its world.
+	 * 			| for each index i:
+	 * 			|	result[i] == new.hasAsEntity(entities[i]) && !hasAsEntity(entities[i])
+	 * @post	| for each Entity e in entities:
+	 * 			|	if (new.hasAsEntity(e))
+	 * 			|		(new e).getWorld() == this
+	 * @note	Entities that are not added are left untouched, and no exception is thrown for them.
+	 * 			The overlap of every entity is checked only against the entities close to it.
+	 */
+	public boolean[] addEntities(Collection<? extends Entity> entities) {
+		double maxRadius = 0;
+		for (Entity e : getEntities())
+			maxRadius = Math.max(maxRadius, e.getRadius());
+		for (Entity e : entities) {
+			if (e != null)
+				maxRadius = Math.max(maxRadius, e.getRadius());
+		}
+		OverlapIndex index = new OverlapIndex(maxRadius);
+		for (Entity e : getEntities())
+			index.add(e);
+
+		boolean[] result = new boolean[entities.size()];
+		int i = 0;
+		for (Entity e : entities) {
+			boolean added = canAddEntity(e, index);
+			if (added && e.getWorld() == null) {
+				try {
+					e.setWorld(this);
+				} catch (IllegalStateException exc) {
+					added = false;
+				}
+			}
+			if (added) {
+				register(e);
+				index.add(e);
+			}
+			result[i++] = added;
+		}
+		return result;
+	}
+	
+	/**
+	 * Adds the given entities to this world, finalizing those that cannot be added.
+	 * @param 	entities
+	 * 			The entities to add.
+	 * @effect	| let added = addEntities(entities) in
+	 * 			|	for each index i:
+	 * 			|		if (!added[i] && entities[i] != null)
+	 * 			|			entities[i].finalize()
+	 * @note	While this world is resolving collisions, the entities are only added once the collisions have been
+	 * 			resolved.
+	 */
+	void spawn(Collection<? extends Entity> entities) {
+		if (commands.isOpen()) {
+			for (Entity e : entities)
+				commands.add(e);
+			return;
+		}
+		boolean[] added = addEntities(entities);
+		int i = 0;
+		for (Entity e : entities) {
+			if (!added[i++] && e != null && !e.isFinalized())
+				e.finalize();
+		}
+	}
+	
+	/**
+	 * Returns whether a given entity can be added to this world, given an overlap index of the entities of this world.
+	 * @param 	e
+	 * 			The entity to check.
+	 * @param 	index
+	 * 			The index registering all entities of this world.
+	 */
+	private boolean canAddEntity(Entity e, OverlapIndex index) {
+		if (e == null || hasAsEntity(e) || (e.getWorld() != null && e.getWorld() != this) || !isEntityWithinBounds(e))
+			return false;
+		for (Entity other : index.getOverlapping(e)) {
+			if (!(e instanceof Bullet && ((Bullet) e).getParent() == other))
+				return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Registers a given entity in this world and in all structures kept for its entities.
+	 * @param 	e
+	 * 			The entity to register.
+	 */
+	private void register(Entity e) {
+		for (Class<?> c = e.getClass(); Entity.class.isAssignableFrom(c); c = c.getSuperclass())
+			getIndex(c.asSubclass(Entity.class)).register(e);
+		e.attach(kinematics);
+		positions.update(e);
+		collisionQueue.invalidate(e);
+		if (e.isStatic())
+			statics.add(e);
+		else
+			broadPhase.add(e);
+	}
+
 	/**
 	 * Removes a given entity from this world.
 	 * @param 	entity
@@ -185,15 +312,39 @@ public class World {
 	 * 			The list containing all entity in this world does not contain the entity provided as an argument.
 	 * @post	| ! entities.contains(entity)
 	 * @post	| new.entity.getWorld() == null
+	 * @note	While this world is resolving collisions, the entity no longer takes part in collisions, but is only
+	 * 			removed once the collisions have been resolved. Removing it again in the meantime has no effect.
 	 */
 	@Raw
 	public void removeEntity(Entity entity) throws IllegalArgumentException {
-		if (! this.entities.contains(entity))
+		if (commands.isOpen() && commands.isRemoving(entity))
+			return;
+		if (! this.entities.contains(entity) && !commands.isAdding(entity))
 			throw new IllegalArgumentException("Trying to remove entity that is not in this world.");
+		if (commands.isOpen()) {
+			commands.remove(entity);
+			collisionQueue.remove(entity);
+			return;
+		}
 		entity.setWorld(null);
 		
-		entities.remove(entity);
-		
+		for (Class<?> c = entity.getClass(); Entity.class.isAssignableFrom(c); c = c.getSuperclass())
+			getIndex(c.asSubclass(Entity.class)).unregister(entity);
+		entity.detach();
+		positions.remove(entity);
+		collisionQueue.remove(entity);
+		broadPhase.remove(entity);
+		statics.remove(entity);
+	}
+	
+	/**
+	 * Returns whether a given entity belongs to this world.
+	 * @param 	entity
+	 * 			The entity to check.
+	 * @return	| result == getEntities().contains(entity)
+	 */
+	public boolean hasAsEntity(Entity entity) {
+		return entities.contains(entity);
 	}
 	
 	/**
@@ -209,11 +360,17 @@ public class World {
 	 * @return	returns null, if there is no entity at position (x,y)
 	 * 			| result == null
 	 * @note	To account for rounding errors, a minimum of 99% correctness is handled.
+	 * 			If several entities qualify, the one closest to (x,y) is returned.
 	 * 			
 	 */
 	public Entity getInstanceAtPosition(double x, double y) {
+		if (positionsTime != getTime()) {
+			for (Entity e : getEntities())
+				positions.update(e);
+			positionsTime = getTime();
+		}
 		try {
-			return entityPositions.getOrDefault(new Position(x,y), null);
+			return positions.getEntityAt(new Position(x,y));
 		} catch (IllegalArgumentException e) {
 			return null;
 		}
@@ -221,29 +378,265 @@ public class World {
 	
 	
 	/**
-	 * 	Returns all entities of a certain class associated with this world, determined in a functional way.
+	 * 	Returns all entities of a certain class associated with this world, including instances of its subclasses.
 	 * 	@param  c
 	 * 			Class of which we want to get instances of as a result.
 	 * 	@return | Set s where
-	 * 			| for each Object o in s: (o.getClass() == c)
+	 * 			| for each Object o in s: (c.isInstance(o) && getEntities().contains(o))
+	 * 	@note	The resulting set is a read-only view that reflects later changes to this world. Iterations over it
+	 * 			run over its entities at the start of the iteration, so this world may be changed during an iteration.
 	 */
-	public Set<? extends Entity> getEntitiesOfType(Class<? extends Entity> c) {
-		return entities.stream().filter(p -> p.getClass() == c).collect(Collectors.toSet());
+	public <T extends Entity> Set<T> getEntitiesOfType(Class<T> c) {
+		@SuppressWarnings("unchecked")
+		Set<T> result = (Set<T>) getIndex(c);
+		return result;
 	}
 	
 	/**
-	 * Returns a list of all entities in this world.
+	 * Map registering, for each class of entities, the entities of that class in this world.
+	 */
+	private final Map<Class<? extends Entity>, EntitySet<Entity>> indexes = new HashMap<Class<? extends Entity>, EntitySet<Entity>>();
+	
+	/**
+	 * Returns the set of entities of a given class in this world, creating it if it does not exist yet.
+	 * @param 	c
+	 * 			The class of the entities.
+	 */
+	private EntitySet<Entity> getIndex(Class<? extends Entity> c) {
+		EntitySet<Entity> index = indexes.get(c);
+		if (index == null) {
+			index = new EntitySet<Entity>();
+			indexes.put(c, index);
+		}
+		return index;
+	}
+	
+	/**
+	 * Returns a set of all entities in this world.
 	 * 
-	 * @return 	A list of all entities in this world.
+	 * @return 	A set of all entities in this world.
 	 * 			| { entity1, entity2, ..., entityN where entityI.getWorld() = this}
-	 * @note	A copy is made to prevent any changes in this world to be reflected in the list we return.
+	 * @effect	| getEntitiesOfType(Entity.class)
+	 * @note	The resulting set is a read-only view that reflects later changes to this world, and is not copied.
+	 * 			Iterations over it run over the entities at the start of the iteration, so entities may be added to
+	 * 			or removed from this world during an iteration, for example when they are destroyed by a collision.
 	 */
 	public Set<Entity> getEntities() {
-		Set<Entity> copy = new HashSet<Entity>();
-		for (Entity e : entities) {
-			copy.add(e);
+		return entities;
+	}
+	
+	/**
+	 * Returns the next collision in this world, together with its position.
+	 * 
+	 * @return	| if (getTimeNextCollision() == Double.POSITIVE_INFINITY)
+	 * 			|	result == null
+	 * @return	The first collision in this world, involving the entities returned by getEntitiesNextCollision(),
+	 * 			taking place after getTimeNextCollision() at the position returned by getPositionNextCollision().
+	 * @note	The time, the participants and the position of the next collision are found in a single search.
+	 * 			Entities that already overlap collide immediately.
+	 * @note	As long as no entity is added, removed or changed other than by moving along its velocity, the next
+	 * 			collision stays the same, so the result of the last search is reused until that collision has passed.
+	 */
+	public Collision getNextCollision() {
+		double now = getTime();
+		if (lastSearchModifications == kinematics.getModifications()) {
+			if (lastCollision == null || now == lastSearchTime)
+				return lastCollision;
+			if (lastCollision.getTime() > now)
+				return new Collision(now, lastCollision.getTime() - now, lastCollision.getFirstEntity(),
+						lastCollision.getSecondEntity(), lastCollision.getPosition());
+		}
+		lastCollision = searchNextCollision();
+		lastSearchTime = now;
+		lastSearchModifications = kinematics.getModifications();
+		return lastCollision;
+	}
+	
+	/**
+	 * Variable registering the result of the last search for the next collision in this world.
+	 */
+	private Collision lastCollision = null;
+	
+	/**
+	 * Variable registering the time of this world at the last search for its next collision.
+	 */
+	private double lastSearchTime = 0;
+	
+	/**
+	 * Variable registering the number of modifications of the kinematic store of this world at the last search
+	 * for its next collision, or -1 if no search has been done.
+	 */
+	private long lastSearchModifications = -1;
+	
+	/**
+	 * Searches the next collision in this world.
+	 * @return	| result == getNextCollision()
+	 */
+	private Collision searchNextCollision() {
+		double now = getTime();
+		prepareCollisionSearch();
+		
+		Entity[] snapshot = entities.getSnapshot();
+		CollisionSearch search;
+		if (getParallelPool() == null || snapshot.length < CollisionSearch.PARALLELTHRESHOLD)
+			search = new CollisionSearch(snapshot, 0, snapshot.length).search();
+		else
+			search = getParallelPool().invoke(new CollisionSearch(snapshot, 0, snapshot.length));
+		
+		if (search.first == null)
+			return null;
+		if (search.overlap)
+			return new Collision(now, 0, search.first, search.second, search.first.getCollisionPosition(search.second));
+		return new Collision(now, search.time, search.first, search.second,
+				getCollisionPosition(search.first, search.second, search.time));
+	}
+	
+	/**
+	 * A class of searches for the first collision of the entities in a range of an array of entities, with a boundary
+	 * or with one of their candidates in the broad-phase of this world.
+	 * Large ranges are split among subsearches, whose results are merged in the order of their ranges: of two
+	 * collisions at the same time, the one found first in the array is kept, exactly like in a sequential search.
+	 */
+	@SuppressWarnings("serial")
+	private class CollisionSearch extends RecursiveTask<CollisionSearch> {
+		
+		/**
+		 * Constant registering the minimum number of entities for which the next collision is searched in parallel.
+		 */
+		static final int PARALLELTHRESHOLD = 512;
+		
+		/**
+		 * Constant registering the number of entities searched by a single parallel task.
+		 */
+		static final int CHUNKSIZE = 32;
+		
+		CollisionSearch(Entity[] snapshot, int from, int to) {
+			this.snapshot = snapshot;
+			this.from = from;
+			this.to = to;
+		}
+		
+		private final Entity[] snapshot;
+		
+		private final int from, to;
+		
+		/**
+		 * Variables registering the time and the participants of the first collision found, and whether those
+		 * participants already overlap.
+		 */
+		private double time = Double.POSITIVE_INFINITY;
+		private Entity first = null, second = null;
+		private boolean overlap = false;
+		
+		/**
+		 * Arrays registering the slots of the candidates of an entity, and the times until it collides with them.
+		 */
+		private int[] others = new int[16];
+		private double[] times = new double[16];
+		
+		@Override
+		protected CollisionSearch compute() {
+			if (to - from <= CHUNKSIZE)
+				return search();
+			int middle = (from + to) >>> 1;
+			CollisionSearch left = new CollisionSearch(snapshot, from, middle);
+			CollisionSearch right = new CollisionSearch(snapshot, middle, to);
+			right.fork();
+			CollisionSearch leftResult = left.compute();
+			CollisionSearch rightResult = right.join();
+			if (leftResult.overlap || (!rightResult.overlap && leftResult.time <= rightResult.time))
+				return leftResult;
+			return rightResult;
 		}
-		return copy;
+		
+		/**
+		 * Searches the range of this search sequentially.
+		 * @return	This search.
+		 * @note	Entities that already overlap collide immediately, and end the search.
+		 */
+		CollisionSearch search() {
+			for (int i = from; i < to; i++) {
+				Entity entity1 = snapshot[i];
+				int slot1 = entity1.getSlot();
+				double timeToBoundary = entity1.isStatic() ? Double.POSITIVE_INFINITY
+						: kinematics.getTimeFirstCollisionBoundary(slot1);
+				if (time > timeToBoundary) {
+					time = timeToBoundary;
+					first = entity1;
+					second = null;
+				}
+				List<Entity> candidates = getCollisionCandidates(entity1);
+				if (others.length < candidates.size()) {
+					others = new int[2 * candidates.size()];
+					times = new double[2 * candidates.size()];
+				}
+				int count = 0;
+				for (Entity entity2 : candidates) {
+					if (entity1 != entity2)
+						others[count++] = entity2.getSlot();
+				}
+				int k = kinematics.getFirstCollision(slot1, others, count, times);
+				if (k < 0) {
+					time = 0;
+					first = entity1;
+					second = kinematics.getEntity(others[-(k + 1)]);
+					overlap = true;
+					return this;
+				}
+				if (count > 0 && time > times[k]) {
+					time = times[k];
+					first = entity1;
+					second = kinematics.getEntity(others[k]);
+				}
+			}
+			return this;
+		}
+	}
+	
+	/**
+	 * Returns the position of the collision of a given entity with another entity or with a boundary.
+	 * @param 	e1
+	 * 			The first entity involved in the collision.
+	 * @param 	e2
+	 * 			The second entity involved in the collision, or null for a boundary collision.
+	 * @param 	timeToCollision
+	 * 			The time until the collision.
+	 * @return	| if (e2 != null)
+	 * 			|	result == e1.getCollisionPosition(e2)
+	 */
+	private double[] getCollisionPosition(Entity e1, Entity e2, double timeToCollision) {
+		if (e2 != null)
+			return e1.getCollisionPosition(e2); //Entity <-> Entity collision
+		double[] position = new double[2];
+		getBoundaryContactPosition(e1, timeToCollision, position);
+		return position;
+	}
+	
+	/**
+	 * Writes the point where a given entity touches a boundary of this world into a given array.
+	 * @param 	entity
+	 * 			The entity colliding with a boundary.
+	 * @param 	timeToCollision
+	 * 			The time until the collision.
+	 * @param 	position
+	 * 			An array of at least two elements, receiving the coordinates of the point of contact.
+	 * @post	The point of contact is the centre of the entity at the time of impact, offset by its radius
+	 * 			towards the boundary that is hit.
+	 */
+	private void getBoundaryContactPosition(Entity entity, double timeToCollision, double[] position) {
+		double xCenter = entity.getXCoordinate() + entity.getXVelocity() * timeToCollision;
+		double yCenter = entity.getYCoordinate() + entity.getYVelocity() * timeToCollision;
+		double radius = entity.getRadius();
+		position[0] = xCenter;
+		position[1] = yCenter;
+		if (xCenter < 1.01 * radius) //LEFT
+			position[0] -= radius;
+		else if (xCenter > getWidth() - 1.01 * radius) //RIGHT
+			position[0] += radius;
+		else if (yCenter < 1.01 * radius) //TOP
+			position[1] -= radius;
+		else //BOTTOM
+			position[1] += radius;
 	}
 	
 	/**
@@ -253,24 +646,10 @@ public class World {
 	 * 			| result == (time where for each Collision c: c.getTime() >= time)
 	 */
 	public double getTimeNextCollision() {
-		double timeToCollision = Double.POSITIVE_INFINITY;
-		
-		for (Entity e: getEntities()) {
-			for (Entity e2: getEntities()) {
-				if (e != e2) {
-					if (e.overlap(e2)) 
-						return 0;
-					if (e.getTimeToCollision(e2) < timeToCollision)
-						timeToCollision = e.getTimeToCollision(e2);
-				}
-			}
-			
-			double timeToBoundaryCollision = e.getTimeFirstCollisionBoundary();
-			if (timeToBoundaryCollision < timeToCollision)
-				timeToCollision = timeToBoundaryCollision;
-			
-		}
-		return timeToCollision;
+		Collision nextCollision = getNextCollision();
+		if (nextCollision == null)
+			return Double.POSITIVE_INFINITY;
+		return nextCollision.getTimeToCollision();
 	}
 	
 	/**
@@ -280,31 +659,12 @@ public class World {
 	 * 			| result == [object1, object2] where for each Collision c: getTimeNextCollision() < c.getTime()
 	 */
 	public Entity[] getEntitiesNextCollision() {
-		Entity[] entities = new Entity[]{null,null};
-		double timeNextCollision = Double.POSITIVE_INFINITY;
-		for (Entity entity1 : getEntities()){
-			if (timeNextCollision > entity1.getTimeFirstCollisionBoundary()){
-				timeNextCollision = entity1.getTimeFirstCollisionBoundary();
-				entities[0] = entity1;
-				entities[1] = null;
-			}
-			for (Entity entity2 : getEntities()){
-
-					if (entity1.overlap(entity2) && entity1 != entity2) return new Entity[]{entity1,entity2};
-					
-					if (timeNextCollision > entity1.getTimeToCollision(entity2) && entity1 != entity2){
-						timeNextCollision = entity1.getTimeToCollision(entity2);
-						entities[0] = entity1;
-						entities[1] = entity2;
-					}
-				
-			}
-		}
-		return entities;
+		Collision nextCollision = getNextCollision();
+		if (nextCollision == null)
+			return new Entity[]{null,null};
+		return new Entity[]{nextCollision.getFirstEntity(), nextCollision.getSecondEntity()};
 	}
 	
-	
-	
 	/**
 	 * Returns the position of the next collision.
 	 * 
@@ -314,66 +674,280 @@ public class World {
 	 * 		
 	 */
 	public double[] getPositionNextCollision() {
-		Entity[] nextCollisionEntities = getEntitiesNextCollision();
-		double nextCollisionTime = getTimeNextCollision();
-		if (nextCollisionEntities[0] == null) {
-			double positionX = Double.POSITIVE_INFINITY;
-			double positionY = Double.POSITIVE_INFINITY;
-			double[] position = {positionX, positionY};
-			return position;
-		}
-			
-		if (nextCollisionEntities[1] == null) { //Boundary collision
-			Entity e = nextCollisionEntities[0];
-			double entityXCollision = e.getXCoordinate() + e.getXVelocity() * nextCollisionTime;
-			double entityYCollision = e.getYCoordinate() + e.getYVelocity() * nextCollisionTime;
-			double entityVelocity = e.getTotalVelocity(e.getXVelocity(), e.getYVelocity());
-			double time = e.getRadius() / entityVelocity;
-			entityXCollision -= time * e.getXVelocity();
-			entityYCollision -= time * e.getYVelocity();
-			return new double[] {entityXCollision, entityYCollision};
+		Collision nextCollision = getNextCollision();
+		if (nextCollision == null)
+			return new double[] {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+		return nextCollision.getPosition();
+	}
+	
+	/**
+	 * Registers every entity in the broad-phase of this world, searching for collisions until the first collision
+	 * of an entity with a boundary.
+	 * @effect	| broadPhase.rebuild(getTime() + min { e.getTimeFirstCollisionBoundary() | e in getEntities() })
+	 * @note	No collision after the first boundary collision can be the next collision in this world, so only
+	 * 			candidates of the broad-phase before that moment have to be tested against each other.
+	 */
+	private void prepareCollisionSearch() {
+		broadPhase.rebuild(getTime() + kinematics.getTimeFirstCollisionBoundary());
+	}
+	
+	/**
+	 * Returns the entities that may collide with a given entity before the horizon of the broad-phase of this world.
+	 * @param 	entity
+	 * 			The entity to find candidates for.
+	 * @return	| if (entity.isStatic())
+	 * 			|	result == broadPhase.getCandidates(entity)
+	 * @return	| if (!entity.isStatic())
+	 * 			|	result == broadPhase.getCandidates(entity) + statics.getCandidates(entity, broadPhase.getHorizon() - getTime())
+	 * @note	Static entities never collide with each other, so they are not candidates of each other.
+	 */
+	List<Entity> getCollisionCandidates(Entity entity) {
+		List<Entity> result = broadPhase.getCandidates(entity);
+		if (!entity.isStatic() && statics.getSize() > 0)
+			result.addAll(statics.getCandidates(entity, broadPhase.getHorizon() - getTime()));
+		return result;
+	}
+	
+	/**
+	 * Returns the entities that may currently overlap with a given entity.
+	 * @param 	entity
+	 * 			The entity to find overlapping entities for.
+	 * @return	| result == broadPhase.getOverlapCandidates(entity) + statics.getOverlapCandidates(entity)
+	 */
+	List<Entity> getOverlapCandidates(Entity entity) {
+		List<Entity> result = broadPhase.getOverlapCandidates(entity);
+		if (statics.getSize() > 0)
+			result.addAll(statics.getOverlapCandidates(entity));
+		return result;
+	}
+	
+	/**
+	 * Registers a given entity in the broad-phase and the position index of this world again, using its current
+	 * position and motion.
+	 * @param 	entity
+	 * 			The entity whose position or motion changed.
+	 * @effect	| if (hasAsEntity(entity) && entity.isStatic())
+	 * 			|	statics.add(entity) && positions.update(entity)
+	 * @effect	| if (hasAsEntity(entity) && !entity.isStatic())
+	 * 			|	broadPhase.add(entity) && positions.update(entity)
+	 */
+	void updateEntity(Entity entity) {
+		if (hasAsEntity(entity)) {
+			if (entity.isStatic())
+				statics.add(entity);
+			else
+				broadPhase.add(entity);
+			positions.update(entity);
 		}
-		
-		Entity e1 = nextCollisionEntities[0];
-		Entity e2 = nextCollisionEntities[1];
-		return e1.getCollisionPosition(e2); //Entity <-> Entity collision
-		
-				
 	}
 	
 	/**
-	 * Evolves the world for a duration dt
+	 * Broad-phase used to find the entities that may collide with each other, holding every entity of this world
+	 * that is not static.
+	 */
+	private BroadPhase broadPhase = new DynamicAABBTree(this);
+	
+	/**
+	 * Index holding the static entities of this world. Static entities never move, so this index is only changed
+	 * when a static entity is added, removed or resized, and never has to be rebuilt.
+	 */
+	private final StaticIndex statics = new StaticIndex();
+	
+	/**
+	 * Variable registering the type of the broad-phase of this world.
+	 */
+	private int broadPhaseType = Constants.AABBTREE;
+	
+	/**
+	 * Returns the type of the broad-phase used to find the entities that may collide with each other.
+	 */
+	@Basic
+	public int getBroadPhase() {
+		return this.broadPhaseType;
+	}
+	
+	/**
+	 * Sets the type of the broad-phase used to find the entities that may collide with each other.
+	 * @param 	type
+	 * 			The type of the new broad-phase.
+	 * @post	| new.getBroadPhase() == type
+	 * @throws 	IllegalArgumentException
+	 * 			| type != Constants.SPATIALHASHGRID && type != Constants.SWEEPANDPRUNE && type != Constants.AABBTREE
+	 * @note	A uniform grid performs best when all entities have similar sizes. Sweep and prune and the
+	 * 			bounding volume tree are not affected by entities of widely different sizes, such as black holes
+	 * 			next to bullets. The tree is used by default.
+	 */
+	public void setBroadPhase(int type) throws IllegalArgumentException {
+		if (type == Constants.SPATIALHASHGRID)
+			broadPhase = new SpatialHashGrid(this);
+		else if (type == Constants.SWEEPANDPRUNE)
+			broadPhase = new SweepAndPrune(this);
+		else if (type == Constants.AABBTREE)
+			broadPhase = new DynamicAABBTree(this);
+		else
+			throw new IllegalArgumentException("Unknown broad-phase type.");
+		broadPhaseType = type;
+		broadPhase.rebuild(getTime());
+	}
+	
+	/**
+	 * Variable registering the pool used to work on the entities of this world in parallel, or null if all work is sequential.
+	 */
+	private ForkJoinPool parallelPool = null;
+	
+	/**
+	 * Returns the pool used to work on the entities of this world in parallel, or null if all work is sequential.
+	 */
+	@Basic
+	public ForkJoinPool getParallelPool() {
+		return this.parallelPool;
+	}
+	
+	/**
+	 * Sets the pool used to search the next collision of this world in parallel.
+	 * @param 	pool
+	 * 			The new pool, for example ForkJoinPool.commonPool(), or null to do all work sequentially.
+	 * @post	| new.getParallelPool() == pool
+	 * @note	Only worlds with many entities are handled in parallel. The results are identical to those of
+	 * 			sequential work: ties between collisions are resolved in the order of getEntities(), regardless of
+	 * 			the order in which parallel tasks finish.
+	 */
+	public void setParallelPool(ForkJoinPool pool) {
+		this.parallelPool = pool;
+	}
+	
+	/**
+	 * Array receiving the point of contact of each collision reported to a collision listener.
+	 */
+	private final double[] contactPosition = new double[2];
+	
+	/**
+	 * Buffer holding the entities added to or removed from this world while it is resolving collisions.
+	 */
+	private final CommandBuffer commands = new CommandBuffer(this);
+	
+	/**
+	 * Solver resolving the elastic collisions between the entities of this world.
+	 */
+	private final ImpulseSolver impulses = new ImpulseSolver();
+	
+	/**
+	 * Returns the solver resolving the elastic collisions between the entities of this world.
+	 */
+	@Basic
+	ImpulseSolver getImpulseSolver() {
+		return this.impulses;
+	}
+	
+	/**
+	 * Queue holding the predicted collisions in this world.
+	 */
+	private final CollisionQueue collisionQueue = new CollisionQueue(this);
+	
+	/**
+	 * Evolves the world for a duration dt, resolving every collision that takes place during that time.
+	 * @param	dt
+	 * 			The duration to evolve this world.
+	 * @param	l
+	 * 			The listener to notify of each collision, or null.
+	 * @throws	IllegalArgumentException
+	 * 			| dt < 0
+	 * @note	The collisions of all entities are predicted once, at the start of this method. After each
+	 * 			collision, only the collisions of the entities whose motion changed are predicted again.
+	 * 			Only candidates of the broad-phase during dt are tested against each other.
+	 * 			Collisions predicted for the same moment are resolved together, and the elastic impulses they
+	 * 			give rise to are applied at once, after all of them have been resolved. So are the entities
+	 * 			added to and removed from this world while resolving them.
 	 */
 	public void evolve(double dt, CollisionListener l) throws IllegalArgumentException {
 		
 		if (dt < 0) throw new IllegalArgumentException("Delta time cannot be negative");
 		
-		double timeToCollision = getTimeNextCollision();
-		Entity[] entitiesNextCollision = getEntitiesNextCollision();
+		broadPhase.rebuild(getTime() + dt);
+		collisionQueue.rebuild();
+		Collision nextCollision = collisionQueue.getNextCollision();
+		double timeToCollision = getTimeToCollision(nextCollision);
 		
 		while (timeToCollision <= dt && timeToCollision > 0) {
 			advance(timeToCollision);
-			if (entitiesNextCollision[1] == null) {
-				Entity e = entitiesNextCollision[0];
-				if (l != null) 
-					l.boundaryCollision(e, e.getXCoordinate() + Math.cos(e.getXVelocity()/e.getYVelocity())*e.getRadius(), e.getYCoordinate() + Math.sin(e.getXVelocity()/e.getYVelocity())*e.getRadius());
-				e.collideBoundary();
-			}
-			else {
-				Entity e1 = entitiesNextCollision[0];
-				Entity e2 = entitiesNextCollision[1];
-				if (l != null) 
-					l.objectCollision(e1, e2, e1.getCollisionPosition(e2)[0], e1.getCollisionPosition(e2)[1]);
-				e1.collideWith(e2);
-			}
+			impulses.defer();
+			commands.open();
+			do {
+				resolve(nextCollision, l);
+				nextCollision = collisionQueue.getSimultaneousCollision(nextCollision);
+			} while (nextCollision != null);
+			impulses.solve();
+			commands.apply();
 			dt -= timeToCollision;
 			
-			timeToCollision = getTimeNextCollision();
-			entitiesNextCollision = getEntitiesNextCollision();
+			collisionQueue.update();
+			nextCollision = collisionQueue.getNextCollision();
+			timeToCollision = getTimeToCollision(nextCollision);
 		}
 		advance(dt);
 	}
 	
+	/**
+	 * Resolves a given collision, which takes place at this moment.
+	 * @param 	collision
+	 * 			The collision to resolve.
+	 * @param 	l
+	 * 			The listener to notify of the collision, or null.
+	 * @effect	| if (collision.isBoundaryCollision())
+	 * 			|	collision.getFirstEntity().collideBoundary()
+	 * @effect	| if (!collision.isBoundaryCollision())
+	 * 			|	collision.getFirstEntity().collideWith(collision.getSecondEntity())
+	 */
+	private void resolve(Collision collision, CollisionListener l) {
+		Entity e1 = collision.getFirstEntity();
+		Entity e2 = collision.getSecondEntity();
+		if (e2 == null) {
+			if (l != null) {
+				getBoundaryContactPosition(e1, 0, contactPosition);
+				l.boundaryCollision(e1, contactPosition[0], contactPosition[1]);
+			}
+			e1.collideBoundary();
+		}
+		else {
+			if (l != null) {
+				//Both entities touch at this moment, so the point of contact lies between their current centres.
+				KinematicStore.getContactPosition(e1.getXCoordinate(), e1.getYCoordinate(), e2.getXCoordinate(),
+						e2.getYCoordinate(), e1.getRadius(), contactPosition);
+				l.objectCollision(e1, e2, contactPosition[0], contactPosition[1]);
+			}
+			e1.collideWith(e2);
+			collisionQueue.invalidate(e2);
+		}
+		collisionQueue.invalidate(e1);
+	}
+	
+	/**
+	 * Returns the time from now until a given predicted collision, computed from the current state of its entities.
+	 * @param 	collision
+	 * 			The predicted collision.
+	 * @return	| if (collision == null)
+	 * 			|	result == Double.POSITIVE_INFINITY
+	 * @return	| if (collision.isBoundaryCollision())
+	 * 			|	result == collision.getFirstEntity().getTimeFirstCollisionBoundary()
+	 * @return	| if (!collision.isBoundaryCollision() && collision.getFirstEntity().overlap(collision.getSecondEntity()))
+	 * 			|	result == 0
+	 * @return	| if (!collision.isBoundaryCollision() && !collision.getFirstEntity().overlap(collision.getSecondEntity()))
+	 * 			|	result == collision.getFirstEntity().getTimeToCollision(collision.getSecondEntity())
+	 * @note	Recomputing the time, rather than subtracting the current time from the predicted time, 
+	 * 			prevents rounding errors from accumulating over consecutive collisions.
+	 */
+	private double getTimeToCollision(Collision collision) {
+		if (collision == null)
+			return Double.POSITIVE_INFINITY;
+		Entity e1 = collision.getFirstEntity();
+		Entity e2 = collision.getSecondEntity();
+		if (e2 == null)
+			return e1.getTimeFirstCollisionBoundary();
+		if (e1.overlap(e2))
+			return 0;
+		return e1.getTimeToCollision(e2);
+	}
+	
 	
 	/**
 	 * Updates all entities' positions depending on their position and velocity. 
@@ -382,14 +956,35 @@ public class World {
 	 * 			The time duration over which to update the entities' properties.
 	 * @effect	| for each Entity e : getEntities()
 	 * 			|	e.advance()
+	 * @post	| new.getTime() == getTime() + deltaTime
 	 * @note	Specific behaviour in advance() is specified in detail at the level of each subclass.
+	 * 			Inertial entities, which only move along their velocity, are moved all at once by advancing the clock
+	 * 			of the kinematic store, so only the other entities are visited. Their registrations in the broad-phase
+	 * 			cover their motion until its horizon, and the position index is brought up to date when it is used.
 	 * 
 	 */
 	public void advance(double deltaTime) {
-		for (Entity e : getEntities()) {
+		kinematics.advance(deltaTime);
+		for (Entity e : kinematics.getNonInertialEntities()) {
 			e.advance(deltaTime);
-			updatePosition(e);
+			broadPhase.update(e);
 		}
+		time += deltaTime;
+		if (getTime() > broadPhase.getHorizon())
+			broadPhase.rebuild(getTime());
+	}
+	
+	/**
+	 * Variable registering the time this world has been advanced, expressed in seconds.
+	 */
+	private double time = 0;
+	
+	/**
+	 * Returns the time this world has been advanced, expressed in seconds.
+	 */
+	@Basic
+	public double getTime() {
+		return this.time;
 	}
 	
 	/**
@@ -418,8 +1013,13 @@ public class World {
 	public void finalize() {
 		for (Entity e : getEntities()) {
 			e.setWorld(null);
+			e.detach();
 		}
-		entities.clear();
+		for (EntitySet<Entity> index : indexes.values())
+			index.unregisterAll();
+		positions.clear();
+		broadPhase.rebuild(getTime());
+		statics.clear();
 		finalized = true;
 	}
 	
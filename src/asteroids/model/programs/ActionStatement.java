@@ -8,18 +8,10 @@ public abstract class ActionStatement extends Statement {
 	}
 
 	@Override
-	public abstract void eval() throws OutOfTimeException;
+	public abstract void eval();
 	
-	public void advanceTime() throws OutOfTimeException {
+	//The program is suspended after this statement if too little time is left.
+	public void advanceTime() {
 		getProgram().subtractTime();
-		if (getProgram().getTimeLeft() < 0.2 && getProgram().getCurrentFunction() == null) {
-			setLastStatement();
-			throw new OutOfTimeException();
-		}
-			
-	}
-	
-	public void setLastStatement() {
-		this.getProgram().setLastExecutedStatement(this);
 	}
 }
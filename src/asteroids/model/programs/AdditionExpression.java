@@ -37,9 +37,46 @@ public class AdditionExpression extends Expression<Double> {
 	}
 
 	@Override
-	public Double eval()  {
-		getLeftTerm().setStatement(getStatement());
-		getRightTerm().setStatement(getStatement());
-		return getLeftTerm().eval() + getRightTerm().eval();
+	public Double eval() {
+		return evalDouble();
+	}
+
+	@Override
+	public double evalDouble() {
+		return getLeftTerm().evalDouble() + getRightTerm().evalDouble();
+	}
+
+	@Override
+	public Class<?> getStaticType() {
+		return Double.class;
+	}
+
+	@Override
+	public void resolve(Scope scope) {
+		getLeftTerm().resolve(scope);
+		getRightTerm().resolve(scope);
+	}
+
+	@Override
+	public void link(Statement statement) {
+		super.link(statement);
+		getLeftTerm().link(statement);
+		getRightTerm().link(statement);
+	}
+
+	@Override
+	public Expression<Double> optimize(Optimizer optimizer) {
+		setLeftTerm(optimizer.optimize(getLeftTerm()));
+		setRightTerm(optimizer.optimize(getRightTerm()));
+		if (leftTerm instanceof ConstantExpression && rightTerm instanceof ConstantExpression)
+			return optimizer.foldNumber(this);
+		return this;
+	}
+
+	@Override
+	public String getKey() {
+		if (leftTerm.getKey() == null || rightTerm.getKey() == null)
+			return null;
+		return "(" + leftTerm.getKey() + " + " + rightTerm.getKey() + ")";
 	}
 }
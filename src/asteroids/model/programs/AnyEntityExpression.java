@@ -1,6 +1,5 @@
 package asteroids.model.programs;
 
-import java.util.HashSet;
 import java.util.Random;
 import java.util.Set;
 
@@ -16,7 +15,7 @@ public class AnyEntityExpression extends Expression<Entity> {
 	@Override
 	public Entity eval() {
 		Random r = new Random();
-		Set<Entity> entities = new HashSet<Entity>(getStatement().getProgram().getShip().getWorld().getEntities());
+		Set<Entity> entities = getStatement().getProgram().getShip().getWorld().getEntities();
 		int i = r.nextInt(entities.size());
 		return (Entity) entities.toArray()[i];
 	}
@@ -1,5 +1,6 @@
 package asteroids.model.programs;
 
+import asteroids.model.Program;
 import asteroids.part3.programs.SourceLocation;
 
 public class AssertStatement extends Statement {
@@ -26,12 +27,10 @@ public class AssertStatement extends Statement {
 
 	@Override
 	public void eval() {
-		if (getProgram().getLastExecutedStatement() != null)
-			return;
 		if (getProgram().getAssertionChecking() == false)
 			return;
 		
-		if (predicate.eval() == false)
+		if (!predicate.evalBoolean())
 			throw new AssertionError("[Assert] Predicate not true");
 	}
 
@@ -40,5 +39,20 @@ public class AssertStatement extends Statement {
 		return;
 	}
 
-}
+	@Override
+	public void resolve(Scope scope) {
+		predicate.resolve(scope);
+	}
+
+	@Override
+	public void link(Program program) {
+		super.link(program);
+		predicate.link(this);
+	}
 
+	@Override
+	public Statement optimize(Optimizer optimizer) {
+		setPredicate(optimizer.optimizeRoot(getPredicate()));
+		return this;
+	}
+}
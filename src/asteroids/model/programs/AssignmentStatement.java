@@ -1,11 +1,14 @@
 package asteroids.model.programs;
 
-import asteroids.model.Entity;
+import asteroids.model.Program;
 import asteroids.part3.programs.SourceLocation;
 
 public class AssignmentStatement extends Statement {
 	private String variableName;
 	private Expression<?> value;
+	private int localSlot = -1;
+	private int globalSlot = -1;
+	private boolean namedAfterFunction = false;
 	
 	public AssignmentStatement(String variableName, Expression<?> value, SourceLocation sourceLocation) {
 		super(sourceLocation);
@@ -33,39 +36,30 @@ public class AssignmentStatement extends Statement {
 
 	@Override
 	public void eval() {
-		if (getProgram().getLastExecutedStatement() != null)
-			return;
-		
-		if (getProgram().getCurrentFunction() != null) { //Add as local variable	
-			getProgram().getCurrentFunction().addVariable(variableName, value);
-			return;
-		}
-		
-		if (!(getProgram().getFunctionByName(variableName) == null)) {
+		if (namedAfterFunction) {
 			throw new IllegalArgumentException("Variable already exists as function"); //Function with identical name
 		}
 		
-		if (getProgram().getVariableByName(variableName) == null) {
-			if (value instanceof FunctionExpression) {
-				if (value.eval() instanceof Double)
-					this.getProgram().addVariable(variableName, new ConstantExpression((double) value.eval(), getSourceLocation()));
-				else if (value.eval() instanceof Boolean)
-					this.getProgram().addVariable(variableName, new BooleanExpression((boolean) value.eval(), getSourceLocation()));
-				else if (value.eval() instanceof Entity)
-					this.getProgram().addVariable(variableName, new EntityExpression((Entity) value.eval(), getSourceLocation()));
-			}
-			else	
-				this.getProgram().addVariable(variableName, value); //New variable
+		Frame frame = (localSlot >= 0) ? getProgram().getLocals() : getProgram().getGlobals(); //Local or global variable
+		int slot = (localSlot >= 0) ? localSlot : globalSlot;
+		if (value.getStaticType() == Double.class)
+			frame.setNumber(slot, value.evalDouble());
+		else
+			frame.set(slot, value.eval());
+	}
+
+	@Override
+	public void resolve(Scope scope) {
+		value.resolve(scope);
+		if (scope.isInFunction()) {
+			localSlot = scope.getLocalSlot(variableName);
+			globalSlot = -1;
 		}
 		else {
-			if (value.eval() instanceof Double)
-				this.getProgram().getVariableByName(variableName).setExpression(new ConstantExpression((double) value.eval(), getSourceLocation()));
-			else if (value.eval() instanceof Boolean)
-				this.getProgram().getVariableByName(variableName).setExpression(new BooleanExpression((boolean) value.eval(), getSourceLocation()));
-			else if (value.eval() instanceof Entity)
-				this.getProgram().getVariableByName(variableName).setExpression(new EntityExpression((Entity) value.eval(), getSourceLocation()));
+			localSlot = -1;
+			globalSlot = scope.getGlobalSlot(variableName);
+			namedAfterFunction = (scope.getProgram().getFunctionByName(variableName) != null);
 		}
-		
 	}
 
 	@Override
@@ -74,4 +68,16 @@ public class AssignmentStatement extends Statement {
 	}
 	
 	
+
+	@Override
+	public void link(Program program) {
+		super.link(program);
+		value.link(this);
+	}
+
+	@Override
+	public Statement optimize(Optimizer optimizer) {
+		setValue(optimizer.optimizeRoot(getValue()));
+		return this;
+	}
 }
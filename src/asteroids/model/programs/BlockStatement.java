@@ -1,5 +1,6 @@
 package asteroids.model.programs;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import asteroids.model.Program;
@@ -22,18 +23,29 @@ public class BlockStatement extends Statement{
 	}
 
 	@Override
-	public void eval() throws OutOfTimeException {
+	public void eval() {
 		for (Statement s : statements)
 			s.eval();
 	}
 
-	
-	public void setProgram(Program program) {
-		this.program = program;
-		
-		for (Statement s : getStatements()) {
-			s.setProgram(getProgram());
+	@Override
+	public void step(ExecutionStack stack) {
+		int i = stack.getIndex();
+		if (i == statements.size()) {
+			stack.pop();
 		}
+		else {
+			stack.setIndex(i + 1);
+			stack.push(statements.get(i));
+		}
+	}
+
+	
+	@Override
+	public void link(Program program) {
+		super.link(program);
+		for (Statement s : getStatements())
+			s.link(program);
 	}
 
 	@Override
@@ -41,4 +53,19 @@ public class BlockStatement extends Statement{
 		for (Statement s: getStatements())
 			s.checkForIllegalStatements();
 	}
+
+	@Override
+	public void resolve(Scope scope) {
+		for (Statement s : getStatements())
+			s.resolve(scope);
+	}
+
+	@Override
+	public Statement optimize(Optimizer optimizer) {
+		List<Statement> optimized = new ArrayList<Statement>();
+		for (Statement s : getStatements())
+			optimized.add(optimizer.optimize(s));
+		setStatements(optimized);
+		return this;
+	}
 }
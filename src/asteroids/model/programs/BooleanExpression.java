@@ -10,7 +10,22 @@ public class BooleanExpression extends Expression<Boolean>{
 	}
 	@Override
 	public Boolean eval() {
+		return evalBoolean();
+	}
+
+	@Override
+	public boolean evalBoolean() {
 		return this.truthValue;
 	}
+
+	@Override
+	public Class<?> getStaticType() {
+		return Boolean.class;
+	}
 	
+
+	@Override
+	public String getKey() {
+		return Boolean.toString(truthValue);
+	}
 }
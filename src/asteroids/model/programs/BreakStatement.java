@@ -10,14 +10,15 @@ public class BreakStatement extends Statement {
 
 	@Override
 	public void eval() {
-		if (getProgram().getLastExecutedStatement() != null)
-			return;
-		
-		if (! getProgram().isCurrentlyInWhile())
-			throw new IllegalStateException();
+		//Caught by the innermost enclosing while statement, which may be part of the caller of a function.
 		throw new BreakException();
 	}
 
+	@Override
+	public void step(ExecutionStack stack) {
+		breakLoop(stack);
+	}
+
 	@Override
 	public void checkForIllegalStatements() {
 		return;
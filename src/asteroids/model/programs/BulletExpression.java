@@ -17,8 +17,7 @@ public class BulletExpression extends Expression<Entity> {
 		Ship parent = getStatement().getProgram().getShip();
 		World world = parent.getWorld();
 		
-		for (Entity entity : world.getEntitiesOfType(Bullet.class)) {
-			Bullet bullet = (Bullet) entity;
+		for (Bullet bullet : world.getEntitiesOfType(Bullet.class)) {
 			if (!bullet.isLoaded() && bullet.getParent() == parent) {
 				return bullet;
 			}
@@ -27,4 +26,8 @@ public class BulletExpression extends Expression<Entity> {
 	}
 	
 
-}
\ No newline at end of file
+	@Override
+	public String getKey() {
+		return "bullet";
+	}
+}
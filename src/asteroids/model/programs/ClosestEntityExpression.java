@@ -1,7 +1,6 @@
 package asteroids.model.programs;
 
 import asteroids.model.Entity;
-import asteroids.model.MinorPlanet;
 import asteroids.model.World;
 import asteroids.part3.programs.SourceLocation;
 
@@ -26,20 +25,12 @@ public class ClosestEntityExpression extends Expression<Entity> {
 			}
 		}
 		
-		if (c.equals(MinorPlanet.class)) {
-			for (Entity e : world.getEntities()) {
-				if (e instanceof MinorPlanet) {
-					if (getStatement().getProgram().getShip().getDistanceBetween(e) < minDistance && e != getStatement().getProgram().getShip()) {
-						minDistance = this.getStatement().getProgram().getShip().getDistanceBetween(e);
-						closestEntity = e;
-					}
-				}
-			}
-		}
-			
-		
 		return closestEntity;
 	}
 	
 
+	@Override
+	public String getKey() {
+		return "closest " + c.getName();
+	}
 }
@@ -62,5 +62,37 @@ public class ConditionalExpression extends Expression<Object> {
 			this.elseExpression = elseExpression;
 	}
 
-}
+	@Override
+	public void resolve(Scope scope) {
+		getBooleanExpression().resolve(scope);
+		getThenExpression().resolve(scope);
+		getElseExpression().resolve(scope);
+	}
+
+	@Override
+	public void link(Statement statement) {
+		super.link(statement);
+		getBooleanExpression().link(statement);
+		getThenExpression().link(statement);
+		getElseExpression().link(statement);
+	}
 
+	@Override
+	public Expression<Object> optimize(Optimizer optimizer) {
+		setBooleanExpression(optimizer.optimize(getBooleanExpression()));
+		setThenExpression(optimizer.optimize(getThenExpression()));
+		setElseExpression(optimizer.optimize(getElseExpression()));
+		if (getBooleanExpression() instanceof BooleanExpression)
+			return getBooleanExpression().evalBoolean() ? getThenExpression() : getElseExpression();
+		return this;
+	}
+
+	@Override
+	public String getKey() {
+		if (getBooleanExpression().getKey() == null || getThenExpression().getKey() == null
+				|| getElseExpression().getKey() == null)
+			return null;
+		return "(" + getBooleanExpression().getKey() + " ? " + getThenExpression().getKey() + " : "
+				+ getElseExpression().getKey() + ")";
+	}
+}
@@ -12,7 +12,21 @@ public class ConstantExpression extends Expression<Double> {
 
 	@Override
 	public Double eval() {
+		return evalDouble();
+	}
+
+	@Override
+	public double evalDouble() {
 		return this.value;
 	}
 
+	@Override
+	public Class<?> getStaticType() {
+		return Double.class;
+	}
+
+	@Override
+	public String getKey() {
+		return Double.toString(value);
+	}
 }
@@ -24,4 +24,10 @@ public class EntityExpression extends Expression<Entity> {
 		return this.entity;
 	}
 
+	@Override
+	public String getKey() {
+		if (entity != null)
+			return null;
+		return "null";
+	}
 }
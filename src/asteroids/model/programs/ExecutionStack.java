@@ -0,0 +1,65 @@
+package asteroids.model.programs;
+
+import java.util.Arrays;
+
+/**
+ * An execution stack holds the continuation of a program whose execution has been interrupted: the statements
+ * that are being executed, each together with the index of its next substatement.
+ *
+ * @version	1.0
+ * @author Tom De Backer and Quinten Bruynseraede
+ */
+public class ExecutionStack {
+	private Statement[] statements = new Statement[8];
+	private int[] indices = new int[8];
+	private int size = 0;
+
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	public Statement peek() {
+		return this.statements[size - 1];
+	}
+
+	public void push(Statement statement) {
+		if (size == statements.length) {
+			statements = Arrays.copyOf(statements, 2 * size);
+			indices = Arrays.copyOf(indices, 2 * size);
+		}
+		statements[size] = statement;
+		indices[size] = 0;
+		size++;
+	}
+
+	public void pop() {
+		size--;
+		statements[size] = null;
+	}
+
+	//Index of the next substatement of the statement on top of this stack.
+	public int getIndex() {
+		return this.indices[size - 1];
+	}
+
+	public void setIndex(int index) {
+		this.indices[size - 1] = index;
+	}
+
+	//Pops all statements up to and including the innermost while statement. Returns false if there is none.
+	public boolean breakLoop() {
+		int i = size - 1;
+		while (i >= 0 && !(statements[i] instanceof WhileStatement))
+			i--;
+		if (i < 0)
+			return false;
+		while (size > i)
+			pop();
+		return true;
+	}
+
+	public void clear() {
+		while (size > 0)
+			pop();
+	}
+}
@@ -7,7 +7,7 @@ public abstract class Expression<T> {
 	public Statement statement;
 	
 	public Expression(SourceLocation sourceLocation) {
-		setStatement(statement);
+		setSourceLocation(sourceLocation);
 	}
 	
 	public void setStatement(Statement statement) {
@@ -27,4 +27,46 @@ public abstract class Expression<T> {
 	}
 
 	public abstract T eval();
+	
+	//Evaluates this expression to a number. Expressions known to evaluate to numbers do so without boxing.
+	public double evalDouble() {
+		Object value = eval();
+		if (!(value instanceof Double))
+			throw new ClassCastException("Expression must evaluate to a number");
+		return (Double) value;
+	}
+	
+	//Evaluates this expression to a boolean. Expressions known to evaluate to booleans do so without boxing.
+	public boolean evalBoolean() {
+		Object value = eval();
+		if (!(value instanceof Boolean))
+			throw new ClassCastException("Expression must evaluate to a boolean");
+		return (Boolean) value;
+	}
+	
+	//The type of the values of this expression, as far as it is known before evaluating it.
+	public Class<?> getStaticType() {
+		return Object.class;
+	}
+	
+	//Returns an equivalent expression that is cheaper to evaluate, after optimizing the subexpressions of this expression.
+	public Expression<T> optimize(Optimizer optimizer) {
+		return this;
+	}
+	
+	//A key shared by all expressions that evaluate to the same value without side effects within one evaluation of
+	//an expression, or null if this expression may have side effects.
+	public String getKey() {
+		return null;
+	}
+	
+	//Binds this expression and its subexpressions to the statement they belong to, once, before it is evaluated.
+	public void link(Statement statement) {
+		setStatement(statement);
+	}
+	
+	//Resolves the variables used by this expression to slots of the frames of its program.
+	public void resolve(Scope scope) {
+		return;
+	}
 }
@@ -8,16 +8,7 @@ public class FireStatement extends ActionStatement {
 	}
 
 	@Override
-	public void eval() throws OutOfTimeException {
-		if (getProgram().getLastExecutedStatement() != null) {
-			if (getProgram().getLastExecutedStatement() == this) {
-				getProgram().setLastExecutedStatement(null);
-				return;
-			}
-			else
-				return;
-		}
-
+	public void eval() {
 		
 		getProgram().getShip().fire();
 		advanceTime();
@@ -0,0 +1,62 @@
+package asteroids.model.programs;
+
+import asteroids.model.Entity;
+
+/**
+ * A frame holds the values of the variables of a program or of a single function call, each in its own slot.
+ * Numbers are kept unboxed, so that arithmetic on variables does not allocate.
+ * A slot without a value holds no variable yet.
+ *
+ * @version	1.0
+ * @author Tom De Backer and Quinten Bruynseraede
+ */
+public class Frame {
+	//Marks the slots whose value is a number, kept in the numbers array.
+	private static final Object NUMBER = new Object();
+
+	private final Object[] values;
+	private final double[] numbers;
+
+	public Frame(int size) {
+		this.values = new Object[size];
+		this.numbers = new double[size];
+	}
+
+	public boolean isDefined(int slot) {
+		return this.values[slot] != null;
+	}
+
+	public Object get(int slot) {
+		if (values[slot] == NUMBER)
+			return numbers[slot];
+		return values[slot];
+	}
+
+	public double getNumber(int slot) {
+		if (values[slot] != NUMBER)
+			throw new ClassCastException("Variable does not hold a number");
+		return numbers[slot];
+	}
+
+	//A variable cannot change its type once it holds a value.
+	public void set(int slot, Object value) {
+		if (value instanceof Double) {
+			setNumber(slot, (Double) value);
+			return;
+		}
+		if (values[slot] != null && value != null && !haveSameType(values[slot], value))
+			throw new IllegalArgumentException("Variable cannot change its type");
+		values[slot] = value;
+	}
+
+	public void setNumber(int slot, double value) {
+		if (values[slot] != null && values[slot] != NUMBER)
+			throw new IllegalArgumentException("Variable cannot change its type");
+		values[slot] = NUMBER;
+		numbers[slot] = value;
+	}
+
+	private static boolean haveSameType(Object a, Object b) {
+		return (a instanceof Boolean && b instanceof Boolean) || (a instanceof Entity && b instanceof Entity);
+	}
+}
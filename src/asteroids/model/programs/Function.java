@@ -1,10 +1,5 @@
 package asteroids.model.programs;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
-import java.lang.Character;
-
 import asteroids.model.Program;
 import asteroids.part3.programs.SourceLocation;
 import be.kuleuven.cs.som.annotate.Basic;
@@ -12,11 +7,11 @@ import be.kuleuven.cs.som.annotate.Basic;
 public class Function {
 	private Statement body;
 	private Program program;
-	private List<Variable<?>> variables = new ArrayList<Variable<?>>();
+	private int localCount = 0;
 	private String name;
-	private List<Expression> arguments;
 	private SourceLocation sourceLocation;
 	private Object returnValue;
+	private IllegalArgumentException illegalStatement;
 	
 	public Function(Statement body, String name, SourceLocation sourceLocation) throws Exception {
 		setBody(body);
@@ -24,20 +19,43 @@ public class Function {
 		this.setSourceLocation(sourceLocation);
 	}
 	
-	public Object execute(List<Expression> arguments) throws OutOfTimeException {
-		body.checkForIllegalStatements(); //
-		//No print or action statements in function.
-		
-		this.arguments = arguments;	
-		
-		getProgram().setCurrentFunction(this);
-		getBody().setProgram(getProgram());
+	public Object execute(Object[] arguments) {
+		if (illegalStatement != null)
+			throw new IllegalArgumentException(illegalStatement.getMessage());
 		
-		getBody().eval();
-		
-		getProgram().setCurrentFunction(null);
-		return getReturnValue();
+		//Every call gets its own frame, the frame of the caller is restored afterwards.
+		Program program = getProgram();
+		Function caller = program.getCurrentFunction();
+		Frame callerLocals = program.getLocals();
+		Object[] callerArguments = program.getArguments();
+		Object callerReturnValue = getReturnValue();
 		
+		program.setFrame(this, new Frame(getLocalCount()), arguments);
+		setReturnValue(null);
+		try {
+			getBody().eval();
+			return getReturnValue();
+		} finally {
+			program.setFrame(caller, callerLocals, callerArguments);
+			program.startEvaluation(); //Values shared by the caller may have been computed again by this call.
+			setReturnValue(callerReturnValue);
+		}
+	}
+	
+	//Binds the body of this function to its program and checks it, once, before the function is called.
+	//No print or action statements in function, which is only reported when the function is called.
+	public void link() {
+		getBody().link(getProgram());
+		try {
+			getBody().checkForIllegalStatements();
+			illegalStatement = null;
+		} catch (IllegalArgumentException e) {
+			illegalStatement = e;
+		}
+	}
+	
+	public void optimize(Optimizer optimizer) {
+		setBody(optimizer.optimize(getBody()));
 	}
 	
 	@Basic
@@ -70,42 +88,12 @@ public class Function {
 		this.name = name;
 	}
 
-	public Expression<?> getParameterValue(String parameterName) {
-		assert(isValidParameterName(parameterName));
-
-		int argNb = Character.getNumericValue(parameterName.charAt(1));
-		
-		try {
-			return this.arguments.get(argNb-1);
-		} catch (IndexOutOfBoundsException e) { //Not enough arguments provided.
-			throw new IllegalArgumentException();
-		} 
-		
-	}
-	
-	public boolean isValidParameterName(String name) {
-		if (name.charAt(0) != '$') 
-			return false;
-		if (!Character.isDigit(name.charAt(1))) 
-			return false;
-		
-		return true;
-	}
-	
-	public Object getVariableValue(String varName) {
-		for (Variable v : this.getVariables()) {
-			if (v.getName().equals(varName))
-				return v.eval();
-		}
-		throw new IllegalArgumentException("Non-existent variable.");
-	}
-	
-	public List<Variable<?>> getVariables() {
-		return this.variables;
+	public int getLocalCount() {
+		return this.localCount;
 	}
 	
-	public void addVariable(String varName, Expression<?> variable) {
-		this.variables.add(new Variable(varName, variable));
+	public void setLocalCount(int localCount) {
+		this.localCount = localCount;
 	}
 
 	public Object getReturnValue() {
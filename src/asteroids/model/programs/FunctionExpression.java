@@ -8,6 +8,7 @@ import asteroids.part3.programs.SourceLocation;
 public class FunctionExpression extends Expression {
 	private String name;
 	private List<Expression> arguments;
+	private Function function;
 	
 	public FunctionExpression(String functionName, List<Expression> actualArgs, SourceLocation sourceLocation) {
 		super(sourceLocation);
@@ -17,18 +18,39 @@ public class FunctionExpression extends Expression {
 
 	@Override
 	public Object eval()  {
-		for (Expression e : arguments) {
-				e.setStatement(getStatement());
-		}
-		
-		if (getStatement().getProgram().getFunctionByName(name) == null) 
+		if (function == null) 
 			throw new IllegalArgumentException();
-		try {
-			return this.getStatement().getProgram().getFunctionByName(name).execute(arguments);
-		} catch (OutOfTimeException e1) {
-			return null; //Will never happen, as the time left for a program won't be changed when executing a function.
+		
+		//Actual arguments are evaluated in the frame of the caller.
+		Object[] values = new Object[arguments.size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = arguments.get(i).eval();
 		}
+		return function.execute(values);
+	}
+
+	@Override
+	public void resolve(Scope scope) {
+		for (Expression e : arguments)
+			e.resolve(scope);
+	}
+
+	@Override
+	public void link(Statement statement) {
+		super.link(statement);
+		for (Expression e : arguments)
+			e.link(statement);
+		this.function = statement.getProgram().getFunctionByName(name);
+	}
+
+	//Calls are never shared, as a function may break out of the loop of its caller.
+	@Override
+	public FunctionExpression optimize(Optimizer optimizer) {
+		this.arguments = new ArrayList<>(arguments);
+		for (int i = 0; i < arguments.size(); i++) {
+			Expression<?> argument = arguments.get(i);
+			arguments.set(i, optimizer.optimize(argument));
+		}
+		return this;
 	}
-	
-	
 }
@@ -9,7 +9,22 @@ public class GetDirectionExpression extends Expression<Double> {
 
 	@Override
 	public Double eval() {
+		return evalDouble();
+	}
+
+	@Override
+	public double evalDouble() {
 		return this.getStatement().getProgram().getShip().getOrientation();
 	}
+
+	@Override
+	public Class<?> getStaticType() {
+		return Double.class;
+	}
 	
+
+	@Override
+	public String getKey() {
+		return "getdir";
+	}
 }
@@ -14,11 +14,21 @@ public class GetRadiusExpression extends Expression<Double> {
 
 	@Override
 	public Double eval() {
-		expression.setStatement(getStatement());
-		if (expression.eval() == null) 
+		return evalDouble();
+	}
+
+	@Override
+	public double evalDouble() {
+		Entity entity = expression.eval();
+		if (entity == null) 
 			throw new IllegalArgumentException();
 		else
-			return expression.eval().getRadius();
+			return entity.getRadius();
+	}
+
+	@Override
+	public Class<?> getStaticType() {
+		return Double.class;
 	}
 
 	public Expression<Entity> getExpression() {
@@ -28,4 +38,28 @@ public class GetRadiusExpression extends Expression<Double> {
 	public void setExpression(Expression<Entity> expression) {
 		this.expression = expression;
 	}
-}
\ No newline at end of file
+
+	@Override
+	public void resolve(Scope scope) {
+		expression.resolve(scope);
+	}
+
+	@Override
+	public void link(Statement statement) {
+		super.link(statement);
+		expression.link(statement);
+	}
+
+	@Override
+	public Expression<Double> optimize(Optimizer optimizer) {
+		setExpression(optimizer.optimize(getExpression()));
+		return this;
+	}
+
+	@Override
+	public String getKey() {
+		if (expression.getKey() == null)
+			return null;
+		return "getradius(" + expression.getKey() + ")";
+	}
+}
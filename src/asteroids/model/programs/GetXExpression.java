@@ -13,11 +13,21 @@ public class GetXExpression extends Expression<Double> {
 
 	@Override
 	public Double eval() {
-		expression.setStatement(getStatement());
-		if (expression.eval() == null) 
+		return evalDouble();
+	}
+
+	@Override
+	public double evalDouble() {
+		Entity entity = expression.eval();
+		if (entity == null) 
 			throw new IllegalArgumentException();
 		else
-			return expression.eval().getXCoordinate();
+			return entity.getXCoordinate();
+	}
+
+	@Override
+	public Class<?> getStaticType() {
+		return Double.class;
 	}
 
 	public Expression<Entity> getExpression() {
@@ -27,4 +37,28 @@ public class GetXExpression extends Expression<Double> {
 	public void setExpression(Expression<Entity> expression) {
 		this.expression = expression;
 	}
-}
\ No newline at end of file
+
+	@Override
+	public void resolve(Scope scope) {
+		expression.resolve(scope);
+	}
+
+	@Override
+	public void link(Statement statement) {
+		super.link(statement);
+		expression.link(statement);
+	}
+
+	@Override
+	public Expression<Double> optimize(Optimizer optimizer) {
+		setExpression(optimizer.optimize(getExpression()));
+		return this;
+	}
+
+	@Override
+	public String getKey() {
+		if (expression.getKey() == null)
+			return null;
+		return "getx(" + expression.getKey() + ")";
+	}
+}
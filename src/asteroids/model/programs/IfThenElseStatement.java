@@ -1,5 +1,7 @@
 package asteroids.model.programs;
 
+import java.util.ArrayList;
+
 import asteroids.model.Program;
 import asteroids.part3.programs.SourceLocation;
 
@@ -42,30 +44,71 @@ public class IfThenElseStatement extends Statement{
 	}
 
 	@Override
-	public void eval() throws OutOfTimeException {
-		boolean ex;
-		try {
-			ex = (boolean) condition.eval();
-		} catch (Exception e) {
-			throw new ClassCastException("Expression within if statement must evaluate to a boolean value");
-		}
-		
-		if (ex) {
+	public void eval() {
+		if (evalCondition()) {
 			ifBody.eval();
 		}
 		else if (getElseBody() != null){
 			elseBody.eval();
 		}
 	}
+
+	//This statement is replaced by the branch that is taken.
+	@Override
+	public void step(ExecutionStack stack) {
+		stack.pop();
+		if (evalCondition()) {
+			stack.push(ifBody);
+		}
+		else if (getElseBody() != null){
+			stack.push(elseBody);
+		}
+	}
+	
+	private boolean evalCondition() {
+		try {
+			return condition.evalBoolean();
+		} catch (Exception e) {
+			throw new ClassCastException("Expression within if statement must evaluate to a boolean value");
+		}
+	}
 	
 	public void checkForIllegalStatements() {
 		getIfBody().checkForIllegalStatements();
-		getElseBody().checkForIllegalStatements();
+		if (getElseBody() != null)
+			getElseBody().checkForIllegalStatements();
 	}
-	public void setProgram(Program program) {
-		this.program = program;
-		getIfBody().setProgram(program);
+	@Override
+	public void link(Program program) {
+		super.link(program);
+		condition.link(this);
+		getIfBody().link(program);
 		if (getElseBody() != null)
-			getElseBody().setProgram(program);
+			getElseBody().link(program);
+	}
+
+	@Override
+	public void resolve(Scope scope) {
+		condition.resolve(scope);
+		ifBody.resolve(scope);
+		if (elseBody != null)
+			elseBody.resolve(scope);
+	}
+
+	//A statement whose condition is constant is replaced by the branch that is taken.
+	@Override
+	public Statement optimize(Optimizer optimizer) {
+		setCondition(optimizer.optimizeRoot(getCondition()));
+		setIfBody(optimizer.optimize(getIfBody()));
+		if (getElseBody() != null)
+			setElseBody(optimizer.optimize(getElseBody()));
+		if (getCondition() instanceof BooleanExpression) {
+			if (getCondition().evalBoolean())
+				return getIfBody();
+			if (getElseBody() != null)
+				return getElseBody();
+			return new BlockStatement(new ArrayList<Statement>(), getSourceLocation());
+		}
+		return this;
 	}
 }
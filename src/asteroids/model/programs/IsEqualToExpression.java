@@ -14,13 +14,54 @@ public class IsEqualToExpression extends Expression<Boolean> {
 
 	@Override
 	public Boolean eval() {
-		left.setStatement(getStatement());
-		right.setStatement(getStatement());
+		return evalBoolean();
+	}
+
+	@Override
+	public boolean evalBoolean() {
 		
+		if (left.getStaticType() == Double.class && right.getStaticType() == Double.class) {
+			//Same outcome as comparing the boxed numbers.
+			return Double.doubleToLongBits(left.evalDouble()) == Double.doubleToLongBits(right.evalDouble());
+		}
 		if (left.eval().equals(right.eval())) {
 			return true;
 		}
 		return false;
-		
+	}
+
+	@Override
+	public Class<?> getStaticType() {
+		return Boolean.class;
+	}
+
+	@Override
+	public void resolve(Scope scope) {
+		left.resolve(scope);
+		right.resolve(scope);
+	}
+
+	@Override
+	public void link(Statement statement) {
+		super.link(statement);
+		left.link(statement);
+		right.link(statement);
+	}
+
+	@Override
+	public Expression<Boolean> optimize(Optimizer optimizer) {
+		left = optimizer.optimize(left);
+		right = optimizer.optimize(right);
+		if ((left instanceof ConstantExpression && right instanceof ConstantExpression)
+				|| (left instanceof BooleanExpression && right instanceof BooleanExpression))
+			return optimizer.foldBoolean(this);
+		return this;
+	}
+
+	@Override
+	public String getKey() {
+		if (left.getKey() == null || right.getKey() == null)
+			return null;
+		return "(" + left.getKey() + " == " + right.getKey() + ")";
 	}
 }
@@ -12,8 +12,17 @@ public class IsNotExpression extends Expression<Boolean> {
 	}
 	
 	public Boolean eval() {
-		expression.setStatement(getStatement());
-		return !(expression.eval());
+		return evalBoolean();
+	}
+
+	@Override
+	public boolean evalBoolean() {
+		return !(expression.evalBoolean());
+	}
+
+	@Override
+	public Class<?> getStaticType() {
+		return Boolean.class;
 	}
 
 	public Expression<Boolean> getExpression() {
@@ -25,4 +34,29 @@ public class IsNotExpression extends Expression<Boolean> {
 	}
 	
 
+	@Override
+	public void resolve(Scope scope) {
+		expression.resolve(scope);
+	}
+
+	@Override
+	public void link(Statement statement) {
+		super.link(statement);
+		expression.link(statement);
+	}
+
+	@Override
+	public Expression<Boolean> optimize(Optimizer optimizer) {
+		setExpression(optimizer.optimize(getExpression()));
+		if (expression instanceof BooleanExpression)
+			return optimizer.foldBoolean(this);
+		return this;
+	}
+
+	@Override
+	public String getKey() {
+		if (expression.getKey() == null)
+			return null;
+		return "!(" + expression.getKey() + ")";
+	}
 }
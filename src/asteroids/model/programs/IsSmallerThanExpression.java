@@ -16,8 +16,45 @@ public class IsSmallerThanExpression extends Expression<Boolean> {
 
 	@Override
 	public Boolean eval() {
-		expression1.setStatement(getStatement());
-		expression2.setStatement(getStatement());
-		return (this.expression1.eval() < this.expression2.eval());
+		return evalBoolean();
 	}
-}
\ No newline at end of file
+
+	@Override
+	public boolean evalBoolean() {
+		return (this.expression1.evalDouble() < this.expression2.evalDouble());
+	}
+
+	@Override
+	public Class<?> getStaticType() {
+		return Boolean.class;
+	}
+
+	@Override
+	public void resolve(Scope scope) {
+		expression1.resolve(scope);
+		expression2.resolve(scope);
+	}
+
+	@Override
+	public void link(Statement statement) {
+		super.link(statement);
+		expression1.link(statement);
+		expression2.link(statement);
+	}
+
+	@Override
+	public Expression<Boolean> optimize(Optimizer optimizer) {
+		expression1 = optimizer.optimize(expression1);
+		expression2 = optimizer.optimize(expression2);
+		if (expression1 instanceof ConstantExpression && expression2 instanceof ConstantExpression)
+			return optimizer.foldBoolean(this);
+		return this;
+	}
+
+	@Override
+	public String getKey() {
+		if (expression1.getKey() == null || expression2.getKey() == null)
+			return null;
+		return "(" + expression1.getKey() + " < " + expression2.getKey() + ")";
+	}
+}
@@ -38,8 +38,45 @@ public class MultiplicationExpression extends Expression<Double> {
 
 	@Override
 	public Double eval() {
-		getLeftFactor().setStatement(getStatement());
-		getRightFactor().setStatement(getStatement());
-		return getLeftFactor().eval() * getRightFactor().eval();
+		return evalDouble();
+	}
+
+	@Override
+	public double evalDouble() {
+		return getLeftFactor().evalDouble() * getRightFactor().evalDouble();
+	}
+
+	@Override
+	public Class<?> getStaticType() {
+		return Double.class;
+	}
+
+	@Override
+	public void resolve(Scope scope) {
+		getLeftFactor().resolve(scope);
+		getRightFactor().resolve(scope);
+	}
+
+	@Override
+	public void link(Statement statement) {
+		super.link(statement);
+		getLeftFactor().link(statement);
+		getRightFactor().link(statement);
+	}
+
+	@Override
+	public Expression<Double> optimize(Optimizer optimizer) {
+		setLeftFactor(optimizer.optimize(getLeftFactor()));
+		setRightFactor(optimizer.optimize(getRightFactor()));
+		if (leftFactor instanceof ConstantExpression && rightFactor instanceof ConstantExpression)
+			return optimizer.foldNumber(this);
+		return this;
+	}
+
+	@Override
+	public String getKey() {
+		if (leftFactor.getKey() == null || rightFactor.getKey() == null)
+			return null;
+		return "(" + leftFactor.getKey() + " * " + rightFactor.getKey() + ")";
 	}
 }
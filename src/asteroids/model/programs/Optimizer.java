@@ -0,0 +1,75 @@
+package asteroids.model.programs;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An optimizer rewrites the statements and expressions of a program into equivalent ones that are cheaper to execute.
+ * Each expression of a statement is optimized in two passes:
+ * 	- the first pass folds constant subexpressions and counts the side-effect-free subexpressions,
+ * 	- the second pass lets all occurrences of such a subexpression share one node, evaluated once per evaluation.
+ * Statements with a constant condition are replaced by the branch that is taken.
+ *
+ * @version	1.0
+ * @author Tom De Backer and Quinten Bruynseraede
+ */
+public class Optimizer {
+	private Map<String, Integer> counts = new HashMap<String, Integer>();
+	private Map<String, SharedExpression<?>> shared = new HashMap<String, SharedExpression<?>>();
+	private boolean sharing = false;
+
+	public Statement optimize(Statement statement) {
+		return statement.optimize(this);
+	}
+
+	//Optimizes an expression of a statement, which is not part of any other expression.
+	public <T> Expression<T> optimizeRoot(Expression<T> expression) {
+		counts.clear();
+		shared.clear();
+		sharing = false;
+		expression = optimize(expression);
+		sharing = true;
+		expression = optimize(expression);
+		if (shared.isEmpty())
+			return expression;
+		return new SharedScopeExpression<T>(expression);
+	}
+
+	//Optimizes a subexpression, after optimizing its own subexpressions.
+	@SuppressWarnings("unchecked")
+	public <T> Expression<T> optimize(Expression<T> expression) {
+		Expression<T> result = expression.optimize(this);
+		String key = result.getKey();
+		if (key == null || !isWorthSharing(result))
+			return result;
+		if (!sharing) {
+			Integer count = counts.get(key);
+			counts.put(key, (count == null) ? 1 : count + 1);
+			return result;
+		}
+		if (counts.get(key) < 2)
+			return result;
+		SharedExpression<T> s = (SharedExpression<T>) shared.get(key);
+		if (s == null) {
+			s = new SharedExpression<T>(result);
+			shared.put(key, s);
+		}
+		return s;
+	}
+
+	public Expression<Double> foldNumber(Expression<Double> expression) {
+		return new ConstantExpression(expression.evalDouble(), expression.getSourceLocation());
+	}
+
+	public Expression<Boolean> foldBoolean(Expression<Boolean> expression) {
+		return new BooleanExpression(expression.evalBoolean(), expression.getSourceLocation());
+	}
+
+	//Reading a literal, a variable or a property of the ship itself is cheaper than sharing its value.
+	private static boolean isWorthSharing(Expression<?> expression) {
+		return !(expression instanceof ConstantExpression || expression instanceof BooleanExpression
+				|| expression instanceof EntityExpression || expression instanceof ReadVariableExpression
+				|| expression instanceof ReadParameterExpression || expression instanceof SelfExpression
+				|| expression instanceof GetDirectionExpression || expression instanceof SharedExpression);
+	}
+}
@@ -1,7 +0,0 @@
-package asteroids.model.programs;
-
-public class OutOfTimeException extends Exception {
-
-	private static final long serialVersionUID = 1L;
-
-}
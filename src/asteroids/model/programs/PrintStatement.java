@@ -1,5 +1,6 @@
 package asteroids.model.programs;
 
+import asteroids.model.Program;
 import asteroids.part3.programs.SourceLocation;
 
 public class PrintStatement extends Statement {
@@ -21,11 +22,9 @@ public class PrintStatement extends Statement {
 
 	@Override
 	public void eval() {
-		if (getProgram().getLastExecutedStatement() != null)
-			return;
-		
-		System.out.println(value.eval());
-		this.getProgram().addReturnItem(value.eval());
+		Object result = value.eval();
+		System.out.println(result);
+		this.getProgram().addReturnItem(result);
 	}
 
 	@Override
@@ -33,4 +32,21 @@ public class PrintStatement extends Statement {
 		throw new IllegalArgumentException("Illegal statement [Print] in function body.");
 	}
 
+	@Override
+	public void resolve(Scope scope) {
+		value.resolve(scope);
+	}
+
+	@Override
+	public void link(Program program) {
+		super.link(program);
+		value.link(this);
+	}
+
+	@Override
+	public Statement optimize(Optimizer optimizer) {
+		Expression<?> value = getValue();
+		setValue(optimizer.optimizeRoot(value));
+		return this;
+	}
 }
@@ -4,6 +4,7 @@ import asteroids.part3.programs.SourceLocation;
 
 public class ReadParameterExpression extends Expression<Object> {
 	private String parameterName;
+	private int index = -1;
 	
 	public ReadParameterExpression(String parameterName, SourceLocation sourceLocation) {
 		super(sourceLocation);
@@ -13,7 +14,19 @@ public class ReadParameterExpression extends Expression<Object> {
 	@Override
 	public Object eval() {
 		if (getStatement().getProgram().getCurrentFunction() == null) throw new IllegalStateException();
-		return this.getStatement().getProgram().getCurrentFunction().getParameterValue(getParameterName()).eval();
+		Object[] arguments = getStatement().getProgram().getArguments();
+		if (index < 0 || index >= arguments.length) //Not enough arguments provided.
+			throw new IllegalArgumentException();
+		return arguments[index];
+	}
+
+	@Override
+	public void resolve(Scope scope) {
+		try {
+			index = Integer.parseInt(getParameterName().substring(1)) - 1;
+		} catch (NumberFormatException e) {
+			index = -1;
+		}
 	}
 
 	public String getParameterName() {
@@ -24,4 +37,8 @@ public class ReadParameterExpression extends Expression<Object> {
 		this.parameterName = parameterName;
 	}
 
+	@Override
+	public String getKey() {
+		return getParameterName();
+	}
 }
@@ -5,6 +5,8 @@ import asteroids.part3.programs.SourceLocation;
 
 public class ReadVariableExpression extends Expression<Object> {
 	String varName;
+	private int localSlot = -1;
+	private int globalSlot = -1;
 	
 	public ReadVariableExpression(String varName, SourceLocation sourceLocation) {
 		super(sourceLocation);
@@ -13,28 +15,31 @@ public class ReadVariableExpression extends Expression<Object> {
 
 	public Object eval() {
 		Program p = getStatement().getProgram();
-		if (p.getCurrentFunction() == null) { //GLOBAL VARIABLE
-			if (p.getVariableValue(varName) != null) {
-				return p.getVariableValue(varName);
-			}	
-			else throw new IllegalArgumentException("");
-		}
-		else { //LOCAL VARIABLE
-			try {
-				return p.getCurrentFunction().getVariableValue(varName);
-			}
-			catch (IllegalArgumentException e) {
-				try {
-					return p.getVariableValue(varName);
-				} 
-				catch (IllegalArgumentException f) {
-						throw new IllegalArgumentException("Variable not found locally or globally");
-				}
-					
-			}
-		}
-		
-				
+		if (localSlot >= 0 && p.getLocals().isDefined(localSlot)) //LOCAL VARIABLE
+			return p.getLocals().get(localSlot);
+		if (p.getGlobals().isDefined(globalSlot)) //GLOBAL VARIABLE
+			return p.getGlobals().get(globalSlot);
+		throw new IllegalArgumentException("Variable " + varName + " not found locally or globally");
 	}
 
-}
\ No newline at end of file
+	@Override
+	public double evalDouble() {
+		Program p = getStatement().getProgram();
+		if (localSlot >= 0 && p.getLocals().isDefined(localSlot))
+			return p.getLocals().getNumber(localSlot);
+		if (p.getGlobals().isDefined(globalSlot))
+			return p.getGlobals().getNumber(globalSlot);
+		throw new IllegalArgumentException("Variable " + varName + " not found locally or globally");
+	}
+
+	@Override
+	public void resolve(Scope scope) {
+		localSlot = scope.getLocalSlot(varName);
+		globalSlot = scope.getGlobalSlot(varName);
+	}
+
+	@Override
+	public String getKey() {
+		return "var " + varName;
+	}
+}
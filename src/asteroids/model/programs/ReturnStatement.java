@@ -1,5 +1,6 @@
 package asteroids.model.programs;
 
+import asteroids.model.Program;
 import asteroids.part3.programs.SourceLocation;
 
 public class ReturnStatement extends Statement{
@@ -13,9 +14,6 @@ public class ReturnStatement extends Statement{
 
 	@Override
 	public void eval() {
-		if (getProgram().getLastExecutedStatement() != null)
-			return;
-		
 		if (getProgram().getCurrentFunction() == null)
 			throw new IllegalStateException("Cannot return when not in function");
 		getProgram().getCurrentFunction().setReturnValue(value.eval());
@@ -38,4 +36,21 @@ public class ReturnStatement extends Statement{
 		return;
 	}
 
+	@Override
+	public void resolve(Scope scope) {
+		value.resolve(scope);
+	}
+
+	@Override
+	public void link(Program program) {
+		super.link(program);
+		value.link(this);
+	}
+
+	@Override
+	public Statement optimize(Optimizer optimizer) {
+		Expression<?> value = getValue();
+		setValue(optimizer.optimizeRoot(value));
+		return this;
+	}
 }
@@ -0,0 +1,62 @@
+package asteroids.model.programs;
+
+import java.util.Map;
+
+import asteroids.model.Program;
+
+/**
+ * A scope maps the names of the variables of a program to the slots of the frames holding their values.
+ * Global variables share one frame for the whole program, local variables get a new frame for every function call.
+ *
+ * @version	1.0
+ * @author Tom De Backer and Quinten Bruynseraede
+ */
+public class Scope {
+	private Program program;
+	private Map<String, Integer> globalSlots;
+	private Map<String, Integer> localSlots;
+
+	//localSlots: null when resolving the main statement of the program
+	public Scope(Program program, Map<String, Integer> globalSlots, Map<String, Integer> localSlots) {
+		this.program = program;
+		this.globalSlots = globalSlots;
+		this.localSlots = localSlots;
+	}
+
+	public Program getProgram() {
+		return this.program;
+	}
+
+	public boolean isInFunction() {
+		return this.localSlots != null;
+	}
+
+	public int getGlobalSlot(String name) {
+		return getSlot(globalSlots, name);
+	}
+
+	public int getLocalSlot(String name) {
+		if (!isInFunction())
+			return -1;
+		return getSlot(localSlots, name);
+	}
+
+	public int getGlobalCount() {
+		return globalSlots.size();
+	}
+
+	public int getLocalCount() {
+		if (!isInFunction())
+			return 0;
+		return localSlots.size();
+	}
+
+	private static int getSlot(Map<String, Integer> slots, String name) {
+		Integer slot = slots.get(name);
+		if (slot == null) {
+			slot = slots.size();
+			slots.put(name, slot);
+		}
+		return slot;
+	}
+}
@@ -23,4 +23,8 @@ public class SelfExpression extends Expression<Entity> {
 		return (this.getStatement().getProgram().getShip());
 	}
 
+	@Override
+	public String getKey() {
+		return "self";
+	}
 }
@@ -0,0 +1,93 @@
+package asteroids.model.programs;
+
+import asteroids.model.Program;
+
+/**
+ * A shared expression stands for all occurrences of a side-effect-free subexpression within one expression of a
+ * statement. Its value is computed once each time the enclosing shared scope is evaluated.
+ *
+ * @version	1.0
+ * @author Tom De Backer and Quinten Bruynseraede
+ */
+public class SharedExpression<T> extends Expression<T> {
+	private Expression<T> expression;
+	private long evaluation = -1;
+	private T value;
+	private double number;
+	private boolean truth;
+
+	public SharedExpression(Expression<T> expression) {
+		super(expression.getSourceLocation());
+		this.expression = expression;
+	}
+
+	public Expression<T> getExpression() {
+		return expression;
+	}
+
+	//Whether the value of this expression has been computed during the current evaluation of its program.
+	private boolean isCached() {
+		return evaluation == getStatement().getProgram().getEvaluation();
+	}
+
+	private void setCached() {
+		evaluation = getStatement().getProgram().getEvaluation();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T eval() {
+		if (getStaticType() == Double.class)
+			return (T) (Double) evalDouble();
+		if (getStaticType() == Boolean.class)
+			return (T) (Boolean) evalBoolean();
+		if (!isCached()) {
+			value = expression.eval();
+			setCached();
+		}
+		return value;
+	}
+
+	@Override
+	public double evalDouble() {
+		if (getStaticType() != Double.class)
+			return super.evalDouble();
+		if (!isCached()) {
+			number = expression.evalDouble();
+			setCached();
+		}
+		return number;
+	}
+
+	@Override
+	public boolean evalBoolean() {
+		if (getStaticType() != Boolean.class)
+			return super.evalBoolean();
+		if (!isCached()) {
+			truth = expression.evalBoolean();
+			setCached();
+		}
+		return truth;
+	}
+
+	@Override
+	public Class<?> getStaticType() {
+		return expression.getStaticType();
+	}
+
+	@Override
+	public String getKey() {
+		return expression.getKey();
+	}
+
+	@Override
+	public void link(Statement statement) {
+		super.link(statement);
+		expression.link(statement);
+	}
+
+	@Override
+	public void resolve(Scope scope) {
+		expression.resolve(scope);
+	}
+}
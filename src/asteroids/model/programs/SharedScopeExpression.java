@@ -0,0 +1,55 @@
+package asteroids.model.programs;
+
+/**
+ * A shared scope is the root of an expression of a statement containing shared expressions. Every evaluation of
+ * the scope starts a new evaluation of its program, so that shared values are computed again.
+ *
+ * @version	1.0
+ * @author Tom De Backer and Quinten Bruynseraede
+ */
+public class SharedScopeExpression<T> extends Expression<T> {
+	private Expression<T> expression;
+
+	public SharedScopeExpression(Expression<T> expression) {
+		super(expression.getSourceLocation());
+		this.expression = expression;
+	}
+
+	public Expression<T> getExpression() {
+		return expression;
+	}
+
+	@Override
+	public T eval() {
+		getStatement().getProgram().startEvaluation();
+		return expression.eval();
+	}
+
+	@Override
+	public double evalDouble() {
+		getStatement().getProgram().startEvaluation();
+		return expression.evalDouble();
+	}
+
+	@Override
+	public boolean evalBoolean() {
+		getStatement().getProgram().startEvaluation();
+		return expression.evalBoolean();
+	}
+
+	@Override
+	public Class<?> getStaticType() {
+		return expression.getStaticType();
+	}
+
+	@Override
+	public void link(Statement statement) {
+		super.link(statement);
+		expression.link(statement);
+	}
+
+	@Override
+	public void resolve(Scope scope) {
+		expression.resolve(scope);
+	}
+}
@@ -9,15 +9,7 @@ public class SkipStatement extends ActionStatement {
 	}
 
 	@Override
-	public void eval() throws OutOfTimeException {
-		if (getProgram().getLastExecutedStatement() != null) {
-			if (getProgram().getLastExecutedStatement() == this) {
-				getProgram().setLastExecutedStatement(null);
-				return;
-			}
-			else
-				return;
-		}
+	public void eval() {
 		//Do nothing
 		advanceTime();	
 	}
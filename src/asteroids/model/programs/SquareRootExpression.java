@@ -12,8 +12,42 @@ public class SquareRootExpression extends Expression<Double> {
 
 	@Override
 	public Double eval() {
-		expression.setStatement(getStatement());
-		return Math.sqrt(expression.eval());
+		return evalDouble();
 	}
 
+	@Override
+	public double evalDouble() {
+		return Math.sqrt(expression.evalDouble());
+	}
+
+	@Override
+	public Class<?> getStaticType() {
+		return Double.class;
+	}
+
+	@Override
+	public void resolve(Scope scope) {
+		expression.resolve(scope);
+	}
+
+	@Override
+	public void link(Statement statement) {
+		super.link(statement);
+		expression.link(statement);
+	}
+
+	@Override
+	public Expression<Double> optimize(Optimizer optimizer) {
+		expression = optimizer.optimize(expression);
+		if (expression instanceof ConstantExpression)
+			return optimizer.foldNumber(this);
+		return this;
+	}
+
+	@Override
+	public String getKey() {
+		if (expression.getKey() == null)
+			return null;
+		return "sqrt(" + expression.getKey() + ")";
+	}
 }
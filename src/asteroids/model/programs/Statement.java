@@ -13,7 +13,25 @@ public abstract class Statement {
 		this.setSourceLocation(s);	
 	}
 	
-	public abstract void eval() throws OutOfTimeException; //TODO not sure about void
+	public abstract void eval();
+	
+	//Executes the next step of this statement, which is on top of the given execution stack.
+	//Statements without substatements are executed at once.
+	public void step(ExecutionStack stack) {
+		stack.pop();
+		try {
+			eval();
+		} catch (BreakException e) {
+			//A function called by this statement broke out of the loop of its caller.
+			breakLoop(stack);
+		}
+	}
+	
+	//Pops all statements up to and including the innermost while statement from the given execution stack.
+	protected static void breakLoop(ExecutionStack stack) {
+		if (!stack.breakLoop())
+			throw new IllegalStateException("Cannot break when not in while");
+	}
 	
 		
 	@Basic
@@ -48,4 +66,19 @@ public abstract class Statement {
 	
 	public abstract void checkForIllegalStatements();
 	
+	//Returns an equivalent statement that is cheaper to execute, after optimizing its substatements and expressions.
+	public Statement optimize(Optimizer optimizer) {
+		return this;
+	}
+	
+	//Binds this statement, its substatements and its expressions to the given program, once, before it is executed.
+	public void link(Program program) {
+		setProgram(program);
+	}
+	
+	//Resolves the variables used by this statement to slots of the frames of its program.
+	public void resolve(Scope scope) {
+		return;
+	}
+	
 }
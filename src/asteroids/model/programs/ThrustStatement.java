@@ -12,16 +12,7 @@ public class ThrustStatement extends ActionStatement {
 	}
 
 	@Override
-	public void eval() throws OutOfTimeException {
-		if (getProgram().getLastExecutedStatement() != null) {
-			if (getProgram().getLastExecutedStatement() == this) {
-				getProgram().setLastExecutedStatement(null);
-				return;
-			}
-			else
-				return;
-		}
-	
+	public void eval() {
 		if (state)
 			getProgram().getShip().thrustOn();
 		else
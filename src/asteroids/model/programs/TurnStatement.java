@@ -1,5 +1,6 @@
 package asteroids.model.programs;
 
+import asteroids.model.Program;
 import asteroids.part3.programs.SourceLocation;
 
 public class TurnStatement extends ActionStatement {
@@ -19,19 +20,11 @@ public class TurnStatement extends ActionStatement {
 	}
 
 	@Override
-	public void eval() throws OutOfTimeException {
-		if (getProgram().getLastExecutedStatement() != null) {
-			if (getProgram().getLastExecutedStatement() == this) {
-				getProgram().setLastExecutedStatement(null);
-				return;
-			}
-			else
-				return;
-		}
+	public void eval() {
 		
 		double a;
 		try {				
-			a = (Double) angle.eval();
+			a = angle.evalDouble();
 		} catch (Exception e) {
 			throw new ClassCastException("");
 		}
@@ -49,4 +42,21 @@ public class TurnStatement extends ActionStatement {
 	public void checkForIllegalStatements() {
 		throw new IllegalArgumentException("Illegal statement [Turn] in function body.");
 	}
+
+	@Override
+	public void resolve(Scope scope) {
+		angle.resolve(scope);
+	}
+
+	@Override
+	public void link(Program program) {
+		super.link(program);
+		angle.link(this);
+	}
+
+	@Override
+	public Statement optimize(Optimizer optimizer) {
+		setAngle(optimizer.optimizeRoot(getAngle()));
+		return this;
+	}
 }
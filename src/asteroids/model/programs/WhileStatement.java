@@ -1,5 +1,7 @@
 package asteroids.model.programs;
 
+import java.util.ArrayList;
+
 import asteroids.model.Program;
 import asteroids.part3.programs.SourceLocation;
 
@@ -31,39 +33,60 @@ public class WhileStatement extends Statement {
 	}
 
 	@Override
-	public void eval() throws OutOfTimeException {
-		boolean ex;
-		try {
-			getProgram().setCurrentlyInWhile(true);
-			ex = (boolean) condition.eval();
-		} catch (Exception e) {
-			throw new ClassCastException("Expression within while statement must evaluate to a boolean value");
-		}
-		
-		while(ex) {
+	public void eval() {
+		while(evalCondition()) {
 			try {
 				body.eval();
 			} catch (BreakException e1) {
 				break;
 			}
-			try {
-				ex = (boolean) condition.eval();
-			} catch (Exception e) {
-				throw new ClassCastException("Expression within while statement must evaluate to a boolean value");
-			}
 		}
-		getProgram().setCurrentlyInWhile(false);
+	}
+
+	//The body is pushed on top of this statement, so that the condition is evaluated again once it is done.
+	@Override
+	public void step(ExecutionStack stack) {
+		if (evalCondition())
+			stack.push(body);
+		else
+			stack.pop();
+	}
+	
+	private boolean evalCondition() {
+		try {
+			return condition.evalBoolean();
+		} catch (Exception e) {
+			throw new ClassCastException("Expression within while statement must evaluate to a boolean value");
+		}
 	}
 
 	
 	@Override
-	public void setProgram(Program program) {
-		this.program = program;
-		this.body.setProgram(program);
+	public void link(Program program) {
+		super.link(program);
+		condition.link(this);
+		body.link(program);
 	}
 
 	@Override
 	public void checkForIllegalStatements() {
 		getBody().checkForIllegalStatements();
 	}
+
+	@Override
+	public void resolve(Scope scope) {
+		condition.resolve(scope);
+		body.resolve(scope);
+	}
+
+	//A loop whose condition is false from the start is never executed.
+	@Override
+	public Statement optimize(Optimizer optimizer) {
+		Expression<?> condition = getCondition();
+		setCondition(optimizer.optimizeRoot(condition));
+		setBody(optimizer.optimize(getBody()));
+		if (getCondition() instanceof BooleanExpression && !getCondition().evalBoolean())
+			return new BlockStatement(new ArrayList<Statement>(), getSourceLocation());
+		return this;
+	}
 }
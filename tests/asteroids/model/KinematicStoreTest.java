@@ -0,0 +1,87 @@
+package asteroids.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+
+public class KinematicStoreTest {
+
+  private static final double EPSILON = 0.0001;
+
+  static int score = 0;
+  static int max_score = 0;
+
+  World world;
+  KinematicStore store;
+  Asteroid center, approaching, faster, receding;
+  int[] others;
+  double[] times;
+
+  @AfterClass
+  public static void tearDownAfterClass() {
+    System.out.println("Score: " + score + "/" + max_score);
+  }
+
+  @Before
+  public void setUp() {
+    world = new World(1000, 1000);
+    center = new Asteroid(500, 500, 0, 0, 10);
+    approaching = new Asteroid(300, 500, 10, 0, 10);
+    faster = new Asteroid(500, 200, 0, 40, 10);
+    receding = new Asteroid(700, 500, 10, 0, 10);
+    world.addEntity(center);
+    world.addEntity(approaching);
+    world.addEntity(faster);
+    world.addEntity(receding);
+    store = world.getKinematics();
+    others = new int[] {approaching.getSlot(), faster.getSlot(), receding.getSlot(), -1};
+    times = new double[4];
+  }
+
+  @Test
+  public void testGetFirstCollision_MinimalTime() {
+    max_score += 3;
+    int k = store.getFirstCollision(center.getSlot(), others, 3, times);
+    assertEquals(1, k);
+    assertEquals(7, times[1], EPSILON);
+    for (int i = 0; i < 3; i++)
+      assertEquals(store.getTimeToCollision(center.getSlot(), others[i]), times[i], 0);
+    assertEquals(18, times[0], EPSILON);
+    assertEquals(Double.POSITIVE_INFINITY, times[2], 0);
+    score += 3;
+  }
+
+  @Test
+  public void testGetFirstCollision_Overlap() {
+    max_score += 3;
+    store.setX(receding.getSlot(), 505);
+    store.setY(receding.getSlot(), 505);
+    int k = store.getFirstCollision(center.getSlot(), others, 3, times);
+    assertEquals(-3, k);
+    assertTrue(Double.isNaN(times[2]));
+    assertTrue(store.overlap(center.getSlot(), others[-(k + 1)]));
+    score += 3;
+  }
+
+  @Test
+  public void testGetFirstCollision_TouchingIsNoOverlap() {
+    max_score += 2;
+    store.setX(receding.getSlot(), 520);
+    store.setY(receding.getSlot(), 500);
+    int k = store.getFirstCollision(center.getSlot(), others, 3, times);
+    assertEquals(1, k);
+    assertTrue(!store.overlap(center.getSlot(), receding.getSlot()));
+    assertEquals(Double.POSITIVE_INFINITY, times[2], 0);
+    score += 2;
+  }
+
+  @Test
+  public void testGetFirstCollision_NoOthers() {
+    max_score += 1;
+    assertEquals(0, store.getFirstCollision(center.getSlot(), others, 0, times));
+    score += 1;
+  }
+}
@@ -1,5 +1,6 @@
 package asteroids.tests;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -15,6 +16,8 @@ import org.junit.Before;
 import org.junit.Test;
 
 import asteroids.model.Bullet;
+import asteroids.model.Collision;
+import asteroids.model.Constants;
 import asteroids.model.Ship;
 import asteroids.model.World;
 import asteroids.part2.facade.IFacade;
@@ -919,6 +922,103 @@ public class Part1And2Test {
     score += 12;
   }
 
+  @Test
+  public void testNextCollision_DistantEntities() throws ModelException {
+    max_score += 4;
+    World world = facade.createWorld(100000, 100000);
+    Ship ship1 = facade.createShip(1000, 50000, 250, 0, 20, 0, 1.0E20);
+    Ship ship2 = facade.createShip(99000, 50000, -250, 0, 30, 0, 1.0E20);
+    Ship ship3 = facade.createShip(50000, 10000, 0, 0, 20, 0, 1.0E20);
+    Ship ship4 = facade.createShip(50000, 90000, 0, 0, 25, 0, 1.0E20);
+    facade.addShipToWorld(world, ship1);
+    facade.addShipToWorld(world, ship2);
+    facade.addShipToWorld(world, ship3);
+    facade.addShipToWorld(world, ship4);
+    double timeToCollision = facade.getTimeNextCollision(world);
+    double[] positionCollision = facade.getPositionNextCollision(world);
+    assertEquals(195.9, timeToCollision, EPSILON);
+    assertEquals(49995, positionCollision[0], EPSILON);
+    assertEquals(50000, positionCollision[1], EPSILON);
+    Collision nextCollision = world.getNextCollision();
+    assertEquals(195.9, nextCollision.getTimeToCollision(), EPSILON);
+    assertTrue(nextCollision.getFirstEntity() == ship1 || nextCollision.getSecondEntity() == ship1);
+    assertEquals(49995, nextCollision.getPosition()[0], EPSILON);
+    facade.evolve(world, 196, null);
+    assertEquals(-250, facade.getShipVelocity(ship1)[0], EPSILON);
+    assertEquals(250, facade.getShipVelocity(ship2)[0], EPSILON);
+    score += 4;
+  }
+
+  @Test
+  public void testNextCollision_SweepAndPruneMixedRadii() throws ModelException {
+    max_score += 4;
+    World world = facade.createWorld(10000, 10000);
+    world.setBroadPhase(Constants.SWEEPANDPRUNE);
+    Ship ship1 = facade.createShip(5000, 5000, 0, 0, 400, 0, 1.0E20);
+    Ship ship2 = facade.createShip(1000, 1000, 0, 0, 10, 0, 1.0E20);
+    Bullet bullet = facade.createBullet(5000, 8000, 0, -100, 2);
+    facade.addShipToWorld(world, ship1);
+    facade.addShipToWorld(world, ship2);
+    facade.addBulletToWorld(world, bullet);
+    assertEquals(Constants.SWEEPANDPRUNE, world.getBroadPhase());
+    assertEquals(25.98, facade.getTimeNextCollision(world), EPSILON);
+    double[] positionCollision = facade.getPositionNextCollision(world);
+    assertEquals(5000, positionCollision[0], EPSILON);
+    assertEquals(5400, positionCollision[1], EPSILON);
+    score += 4;
+  }
+
+  @Test
+  public void testNextCollision_AfterEvolveAndRemove() throws ModelException {
+    max_score += 4;
+    World world = facade.createWorld(10000, 10000);
+    Ship ship1 = facade.createShip(100, 5000, 10, 0, 10, 0, 1.0E20);
+    Ship ship2 = facade.createShip(300, 5000, -10, 0, 10, 0, 1.0E20);
+    facade.addShipToWorld(world, ship1);
+    facade.addShipToWorld(world, ship2);
+    assertEquals(9, facade.getTimeNextCollision(world), EPSILON);
+    facade.evolve(world, 4, null);
+    assertEquals(5, facade.getTimeNextCollision(world), EPSILON);
+    assertEquals(200, facade.getPositionNextCollision(world)[0], EPSILON);
+    facade.removeShipFromWorld(world, ship2);
+    assertEquals(985, facade.getTimeNextCollision(world), EPSILON);
+    assertEquals(10000, facade.getPositionNextCollision(world)[0], EPSILON);
+    score += 4;
+  }
+
+  @Test
+  public void testGetCollisionPosition_IntoBuffer() throws ModelException {
+    max_score += 3;
+    Ship ship1 = facade.createShip(100, 100, 10, 10, 10, 0, 1.0E20);
+    Ship ship2 = facade.createShip(300, 300, -10, -10, 10, 0, 1.0E20);
+    Ship ship3 = facade.createShip(100, 300, -10, 0, 10, 0, 1.0E20);
+    double[] position = new double[2];
+    assertTrue(ship1.getCollisionPosition(ship2, position));
+    assertEquals(200, position[0], EPSILON);
+    assertEquals(200, position[1], EPSILON);
+    assertArrayEquals(position, ship1.getCollisionPosition(ship2), EPSILON);
+    assertFalse(ship3.getCollisionPosition(ship1, position));
+    assertEquals(200, position[0], EPSILON);
+    score += 3;
+  }
+
+  @Test
+  public void testAddOverlappingShip_ManyEntities() throws ModelException {
+    max_score += 4;
+    World world = facade.createWorld(10000, 10000);
+    assertEquals(Constants.AABBTREE, world.getBroadPhase());
+    for (int i = 1; i <= 10; i++)
+      for (int j = 1; j <= 10; j++)
+        facade.addShipToWorld(world, facade.createShip(i * 900, j * 900, 10 * i, -10 * j, 10 * i, 0, 1.0E20));
+    assertEquals(100, facade.getWorldShips(world).size());
+    try {
+      facade.addShipToWorld(world, facade.createShip(5400, 5500, 0, 0, 100, 0, 1.0E20));
+      fail();
+    } catch (ModelException exc) {
+    }
+    score += 4;
+  }
+
   @Test
   public void testEvolveEmptyWorld() throws ModelException {
     max_score += 2;
@@ -288,6 +288,25 @@ public class Part2Tests {
 		assertTrue((world.getInstanceAtPosition(0, 0) == null));		
 	}
 	
+	@Test
+	public void testInstanceAtPosition_MovedAndRemoved() throws ModelException {
+		World world = facade.createWorld(5000, 5000);
+		
+		Ship ship1 = facade.createShip(100, 100, -10, 0, 20, 0, 1.0E20);
+		Ship ship2 = facade.createShip(200, 100, -10, 0, 20, 0, 1.0E20);
+		
+		facade.addShipToWorld(world, ship1);
+		facade.addShipToWorld(world, ship2);
+		facade.evolve(world, 1, null);
+		
+		assertTrue((world.getInstanceAtPosition(100, 100) == null));
+		assertTrue((world.getInstanceAtPosition(90, 100) == ship1));
+		assertTrue((world.getInstanceAtPosition(190, 100) == ship2));
+		
+		facade.removeShipFromWorld(world, ship2);
+		assertTrue((world.getInstanceAtPosition(190, 100) == null));
+	}
+	
 	@Test
 	public void testGetEntities() throws ModelException {
 		World world = facade.createWorld(5000, 5000);
@@ -310,6 +329,29 @@ public class Part2Tests {
 		assertTrue(!world.getEntities().contains(ship4));
 	}
 	
+	@Test
+	public void testGetEntities_RemoveWhileIterating() throws ModelException {
+		World world = facade.createWorld(5000, 5000);
+		
+		Ship ship1 = facade.createShip(100, 100, -10, 0, 20, 0, 1.0E20);
+		Ship ship2 = facade.createShip(200, 100, -10, 0, 20, 0, 1.0E20);
+		Ship ship3 = facade.createShip(300, 100, -10, 0, 20, 0, 1.0E20);
+		
+		facade.addShipToWorld(world, ship1);
+		facade.addShipToWorld(world, ship2);
+		facade.addShipToWorld(world, ship3);
+		
+		int visited = 0;
+		for (Entity entity : world.getEntities()) {
+			entity.finalize();
+			visited++;
+		}
+		
+		assertEquals(3, visited);
+		assertTrue(world.getEntities().isEmpty());
+		assertEquals(0, facade.getEntities(world).size());
+	}
+	
 
 	@Test
 	public void testFinalizeWorld() throws ModelException {
@@ -1425,6 +1425,34 @@ public class Part3TestFull {
     }
   }
 
+  @Test
+  public void testAssignment_BooleanToNumberVariable() throws ModelException {
+    try {
+      max_score += 4;
+      String code = "varname := 7.0; " + "varname := 7.0 < 8.0; ";
+      Program program = ProgramParser.parseProgramFromString(code, programFactory);
+      facade.loadProgramOnShip(ship1, program);
+      facade.executeProgram(ship1, 1.0);
+      fail();
+    } catch (ModelException exc) {
+      score += 4;
+    }
+  }
+
+  @Test
+  public void testAssignment_NumberToBooleanVariable() throws ModelException {
+    try {
+      max_score += 4;
+      String code = "varname := 7.0 < 8.0; " + "varname := 7.0; ";
+      Program program = ProgramParser.parseProgramFromString(code, programFactory);
+      facade.loadProgramOnShip(ship1, program);
+      facade.executeProgram(ship1, 1.0);
+      fail();
+    } catch (ModelException exc) {
+      score += 4;
+    }
+  }
+
   // Print Statement
 
   @Test
@@ -1550,6 +1578,21 @@ public class Part3TestFull {
     score += 6;
   }
 
+  @Test
+  public void testIfStatement_ConditionChangedInInterruptedPart() throws ModelException {
+    max_score += 6;
+    String code = "a := 1.0; " + "if a < 2.0 { " + "  a := 5.0; " + "  skip; " + "  print a; " + "} "
+        + "else { " + "  print 3.0; " + "} " + "print 0.0; ";
+    Program program = ProgramParser.parseProgramFromString(code, programFactory);
+    facade.loadProgramOnShip(ship1, program);
+    assertNull(facade.executeProgram(ship1, 0.3));
+    score += 2;
+    List<Object> results = facade.executeProgram(ship1, 0.15);
+    Object[] expecteds = { 5.0, 0.0 };
+    assertArrayEquals(expecteds, results.toArray());
+    score += 4;
+  }
+
   @Test
   public void testIfStatement_NoElsePart() throws ModelException {
     max_score += 3;
@@ -1561,6 +1604,19 @@ public class Part3TestFull {
     score += 3;
   }
 
+  @Test
+  public void testIfStatement_ConstantControllingExpression() throws ModelException {
+    max_score += 3;
+    String code = "if 2.0 < 1.0 { " + "  print 1.0; " + "} " + "else { " + "  print (1.0 + 2.0) * -(3.0); " + "} "
+        + "while 1.0 < 0.0 { " + "  print 5.0; " + "}";
+    Program program = ProgramParser.parseProgramFromString(code, programFactory);
+    facade.loadProgramOnShip(ship1, program);
+    List<Object> results = facade.executeProgram(ship1, 1.0);
+    Object[] expecteds = { -9.0 };
+    assertArrayEquals(expecteds, results.toArray());
+    score += 3;
+  }
+
   @Test
   public void testIfStatement_NonBooleanControllingExpression() throws ModelException {
     try {
@@ -1669,6 +1725,20 @@ public class Part3TestFull {
     score += 3;
   }
 
+  @Test
+  public void testTurnStatement_AngleFromFunctionCall() throws ModelException {
+    max_score += 3;
+    String code = "def f { " + "  return $1 + 0.5; " + "}" + "turn f(0.25); " + "print 0.4; ";
+    facade.turn(ship1, 1.5);
+    Program program = ProgramParser.parseProgramFromString(code, programFactory);
+    facade.loadProgramOnShip(ship1, program);
+    List<Object> results = facade.executeProgram(ship1, 0.45);
+    assertEquals(2.25, facade.getShipOrientation(ship1), EPSILON);
+    Object[] expecteds = { 0.4 };
+    assertArrayEquals(expecteds, results.toArray());
+    score += 3;
+  }
+
   @Test
   public void testTurnStatement_NotEnoughTimeLeft() throws ModelException {
     max_score += 3;
@@ -2410,6 +2480,20 @@ public class Part3TestFull {
     }
   }
 
+  @Test
+  public void testAddition_BooleanVariable() throws ModelException {
+    try {
+      max_score += 5;
+      String code = "a := 4.0 < 5.0; " + "print a + 5.0; ";
+      Program program = ProgramParser.parseProgramFromString(code, programFactory);
+      facade.loadProgramOnShip(ship1, program);
+      facade.executeProgram(ship1, 1.0);
+      fail();
+    } catch (ModelException exc) {
+      score += 5;
+    }
+  }
+
   // Multiplication
 
   @Test
@@ -2507,6 +2591,33 @@ public class Part3TestFull {
     score += 20;
   }
 
+  @Test
+  public void testFunctionCall_RecursiveFunctionLocalVariables() throws ModelException {
+    max_score += 10;
+    String code = "def sumfac { " + "  a := $1; " + "  t := 1.0; " + "  while 1.5 < a { "
+        + "    t := t + (a*sumfac(a + -1.0));" + "    a := a + -1.0; " + "  }" + "  return t; " + "} "
+        + "a := 7.0; " + "print sumfac(4.0); " + "print a; ";
+    Program program = ProgramParser.parseProgramFromString(code, programFactory);
+    facade.loadProgramOnShip(ship1, program);
+    List<Object> results = facade.executeProgram(ship1, 0.3);
+    Object[] expecteds = { 60.0, 7.0 };
+    assertArrayEquals(expecteds, results.toArray());
+    score += 10;
+  }
+
+  @Test
+  public void testFunctionCall_RecursiveFunctionRepeatedSubexpressions() throws ModelException {
+    max_score += 10;
+    String code = "def f { " + "  if $1 < 0.5 { " + "    return 1.0; " + "  }" + "  else { "
+        + "    return (($1 + ($1*$1)) * f($1 + -1.0)) + ($1 + ($1*$1)); " + "  }" + "}" + "print f(3.0); ";
+    Program program = ProgramParser.parseProgramFromString(code, programFactory);
+    facade.loadProgramOnShip(ship1, program);
+    List<Object> results = facade.executeProgram(ship1, 0.3);
+    Object[] expecteds = { 372.0 };
+    assertArrayEquals(expecteds, results.toArray());
+    score += 10;
+  }
+
   @Test
   public void testFunctionCall_UndefinedFunction() throws ModelException {
     try {
@@ -2870,6 +2981,21 @@ public class Part3TestFull {
     score += 3;
   }
 
+  @Test
+  public void testEquality_NumbersSameAsBoxed() throws ModelException {
+    max_score += 3;
+    String code = "a := sqrt -1.0; " + "b := 0.0; " + "c := -b; " + "d := 0.1; " + "print a == a; " + "print b == c; "
+        + "print (d + 0.2) == 0.3; " + "print (d + d) == 0.2; ";
+    Program program = ProgramParser.parseProgramFromString(code, programFactory);
+    facade.loadProgramOnShip(ship1, program);
+    List<Object> results = facade.executeProgram(ship1, 1.0);
+    Double nan = Math.sqrt(-1.0);
+    Object[] expecteds = { nan.equals(nan), Double.valueOf(0.0).equals(-0.0), Double.valueOf(0.1 + 0.2).equals(0.3),
+        Double.valueOf(0.1 + 0.1).equals(0.2) };
+    assertArrayEquals(expecteds, results.toArray());
+    score += 3;
+  }
+
   // Less Than
 
   @Test
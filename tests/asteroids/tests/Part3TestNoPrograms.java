@@ -8,19 +8,28 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.Test;
 
 import asteroids.model.Asteroid;
+import asteroids.model.BlackHole;
 import asteroids.model.Bullet;
+import asteroids.model.Collision;
+import asteroids.model.CollisionTable;
+import asteroids.model.Constants;
+import asteroids.model.MinorPlanet;
 import asteroids.model.Planetoid;
 import asteroids.model.Ship;
 import asteroids.model.World;
+import asteroids.part2.CollisionListener;
 import asteroids.part3.facade.IFacade;
 import asteroids.model.Program;
 import asteroids.part3.programs.IProgramFactory;
@@ -603,6 +612,333 @@ public class Part3TestNoPrograms {
     score += 2;
   }
 
+  @Test
+  public void testRemoveEntity_KeepsState() throws ModelException {
+    max_score += 3;
+    World world = facade.createWorld(5000, 5000);
+    Ship ship1 = facade.createShip(100, 100, -10, 0, 20, 0, 1.0E20);
+    Ship ship2 = facade.createShip(200, 100, 10, 5, 20, 0, 1.0E20);
+    Asteroid asteroid = facade.createAsteroid(300, 300, 0, 20, 30);
+    Planetoid planetoid = facade.createPlanetoid(500, 500, 0, 10, 30, 0);
+    facade.addShipToWorld(world, ship1);
+    facade.addShipToWorld(world, ship2);
+    facade.addAsteroidToWorld(world, asteroid);
+    facade.addPlanetoidToWorld(world, planetoid);
+    facade.evolve(world, 1, null);
+    facade.removeShipFromWorld(world, ship1);
+    facade.evolve(world, 1, null);
+    assertEquals(90, facade.getShipPosition(ship1)[0], EPSILON);
+    assertEquals(-10, facade.getShipVelocity(ship1)[0], EPSILON);
+    assertEquals(20, facade.getShipRadius(ship1), EPSILON);
+    assertEquals(220, facade.getShipPosition(ship2)[0], EPSILON);
+    assertEquals(110, facade.getShipPosition(ship2)[1], EPSILON);
+    assertEquals(340, facade.getAsteroidPosition(asteroid)[1], EPSILON);
+    assertEquals(30, facade.getAsteroidRadius(asteroid), EPSILON);
+    assertEquals(520, facade.getPlanetoidPosition(planetoid)[1], EPSILON);
+    assertEquals(20, facade.getPlanetoidTotalTraveledDistance(planetoid), EPSILON);
+    score += 3;
+  }
+
+  @Test
+  public void testAdvance_LazyInertialPositions() throws ModelException {
+    max_score += 3;
+    World world = facade.createWorld(1000, 1000);
+    Asteroid moving = facade.createAsteroid(100, 200, 10, -5, 10);
+    Asteroid bouncing = facade.createAsteroid(980, 500, 10, 0, 10);
+    Asteroid leaving = facade.createAsteroid(500, 985, 0, 10, 10);
+    facade.addAsteroidToWorld(world, moving);
+    // Positions are computed from the reference time when they are read.
+    world.advance(2);
+    world.advance(3);
+    assertEquals(150, facade.getAsteroidPosition(moving)[0], EPSILON);
+    assertEquals(175, facade.getAsteroidPosition(moving)[1], EPSILON);
+    // A bounce registers a new reference position at the time of impact.
+    facade.addAsteroidToWorld(world, bouncing);
+    facade.evolve(world, 3, null);
+    assertEquals(180, facade.getAsteroidPosition(moving)[0], EPSILON);
+    assertEquals(160, facade.getAsteroidPosition(moving)[1], EPSILON);
+    assertEquals(970, facade.getAsteroidPosition(bouncing)[0], EPSILON);
+    assertEquals(-10, facade.getAsteroidVelocity(bouncing)[0], EPSILON);
+    // An inertial entity advanced past a boundary is clamped to that boundary.
+    facade.addAsteroidToWorld(world, leaving);
+    world.advance(5);
+    assertEquals(500, facade.getAsteroidPosition(leaving)[0], EPSILON);
+    assertEquals(1000, facade.getAsteroidPosition(leaving)[1], EPSILON);
+    assertTrue(facade.getAsteroidPosition(leaving)[1] < 1000);
+    score += 3;
+  }
+
+  @Test
+  public void testNextCollision_ParallelMatchesSequential() throws ModelException {
+    max_score += 3;
+    for (int type : new int[] {Constants.SPATIALHASHGRID, Constants.SWEEPANDPRUNE, Constants.AABBTREE}) {
+      World world = facade.createWorld(4000, 4000);
+      world.setBroadPhase(type);
+      for (int i = 0; i < 40; i++)
+        for (int j = 0; j < 25; j++)
+          facade.addAsteroidToWorld(world, facade.createAsteroid(50 + 95 * i, 50 + 150 * j,
+              (i % 3) * 10 - 10, (j % 2) * 10 - 5, 10));
+      Collision sequential = world.getNextCollision();
+      world.setParallelPool(ForkJoinPool.commonPool());
+      Collision parallel = world.getNextCollision();
+      assertTrue(sequential.getFirstEntity() == parallel.getFirstEntity());
+      assertTrue(sequential.getSecondEntity() == parallel.getSecondEntity());
+      assertTrue(Double.compare(sequential.getTimeToCollision(), parallel.getTimeToCollision()) == 0);
+      assertArrayEquals(sequential.getPosition(), parallel.getPosition(), 0);
+    }
+    score += 3;
+  }
+
+  private static class MarkedAsteroid extends Asteroid {
+    private boolean hit = false;
+
+    MarkedAsteroid(double x, double y, double xVelocity, double yVelocity, double radius) {
+      super(x, y, xVelocity, yVelocity, radius);
+    }
+  }
+
+  @Test
+  public void testCollisionTable_PluggedInKind() throws ModelException {
+    max_score += 3;
+    CollisionTable.register(MarkedAsteroid.class, Ship.class, (asteroid, ship) -> {
+      asteroid.hit = true;
+      asteroid.getWorld().removeEntity(asteroid);
+    });
+    World world = facade.createWorld(5000, 5000);
+    Ship ship = facade.createShip(100, 100, 10, 0, 20, 0, 1.0E20);
+    MarkedAsteroid marked = new MarkedAsteroid(200, 100, -10, 0, 30);
+    Asteroid asteroid1 = facade.createAsteroid(100, 1000, 10, 0, 30);
+    Asteroid asteroid2 = facade.createAsteroid(200, 1000, -10, 0, 30);
+    facade.addShipToWorld(world, ship);
+    facade.addAsteroidToWorld(world, marked);
+    facade.addAsteroidToWorld(world, asteroid1);
+    facade.addAsteroidToWorld(world, asteroid2);
+    facade.evolve(world, 4, null);
+    assertTrue(marked.hit);
+    assertFalse(ship.isFinalized());
+    assertFalse(facade.getWorldAsteroids(world).contains(marked));
+    assertEquals(-10, facade.getAsteroidVelocity(asteroid1)[0], EPSILON);
+    assertEquals(10, facade.getAsteroidVelocity(asteroid2)[0], EPSILON);
+    score += 3;
+  }
+
+  @Test
+  public void testEvolve_SimultaneousCollisions() throws ModelException {
+    max_score += 3;
+    World world = facade.createWorld(1000, 1000);
+    Asteroid left = facade.createAsteroid(100, 500, 10, 0, 50);
+    Asteroid middle = facade.createAsteroid(300, 500, 0, 0, 50);
+    Asteroid right = facade.createAsteroid(500, 500, -10, 0, 50);
+    facade.addAsteroidToWorld(world, left);
+    facade.addAsteroidToWorld(world, middle);
+    facade.addAsteroidToWorld(world, right);
+    facade.evolve(world, 12, null);
+    assertEquals(-10, facade.getAsteroidVelocity(left)[0], EPSILON);
+    assertEquals(0, facade.getAsteroidVelocity(middle)[0], EPSILON);
+    assertEquals(10, facade.getAsteroidVelocity(right)[0], EPSILON);
+    assertEquals(180, facade.getAsteroidPosition(left)[0], EPSILON);
+    assertEquals(300, facade.getAsteroidPosition(middle)[0], EPSILON);
+    assertEquals(420, facade.getAsteroidPosition(right)[0], EPSILON);
+    score += 3;
+  }
+
+  @Test
+  public void testEvolve_NearlySimultaneousCollisionsBatched() throws ModelException {
+    max_score += 3;
+    World world = facade.createWorld(1000, 1000);
+    Asteroid left = facade.createAsteroid(100, 500, 10, 0, 50);
+    Asteroid middle = facade.createAsteroid(300, 500, 0, 0, 50);
+    Asteroid right = facade.createAsteroid(500.0005, 500, -10, 0, 50);
+    facade.addAsteroidToWorld(world, left);
+    facade.addAsteroidToWorld(world, middle);
+    facade.addAsteroidToWorld(world, right);
+    List<Double> times = new ArrayList<>();
+    List<Double> middleVelocities = new ArrayList<>();
+    facade.evolve(world, 12, new CollisionListener() {
+      public void boundaryCollision(Object entity, double x, double y) {
+      }
+
+      public void objectCollision(Object entity1, Object entity2, double x, double y) {
+        times.add(world.getTime());
+        middleVelocities.add(middle.getXVelocity());
+      }
+    });
+    // Both contacts are resolved as one batch, so the impulse of the first is not yet applied at the second.
+    assertEquals(2, times.size());
+    assertTrue(Double.compare(times.get(0), times.get(1)) == 0);
+    assertEquals(0, middleVelocities.get(1), EPSILON);
+    assertEquals(-10, facade.getAsteroidVelocity(left)[0], EPSILON);
+    assertEquals(0, facade.getAsteroidVelocity(middle)[0], EPSILON);
+    assertEquals(10, facade.getAsteroidVelocity(right)[0], EPSILON);
+    score += 3;
+  }
+
+  @Test
+  public void testEvolve_BoundaryContactReportedToListener() throws ModelException {
+    max_score += 2;
+    World world = facade.createWorld(1000, 1000);
+    Asteroid asteroid = facade.createAsteroid(900, 500, 10, 0, 50);
+    facade.addAsteroidToWorld(world, asteroid);
+    double[] expected = facade.getPositionNextCollision(world);
+    List<double[]> positions = new ArrayList<>();
+    facade.evolve(world, 6, new CollisionListener() {
+      public void boundaryCollision(Object entity, double x, double y) {
+        positions.add(new double[] {x, y});
+      }
+
+      public void objectCollision(Object entity1, Object entity2, double x, double y) {
+      }
+    });
+    assertEquals(1, positions.size());
+    assertEquals(1000, positions.get(0)[0], EPSILON);
+    assertEquals(500, positions.get(0)[1], EPSILON);
+    assertEquals(expected[0], positions.get(0)[0], EPSILON);
+    assertEquals(expected[1], positions.get(0)[1], EPSILON);
+    score += 2;
+  }
+
+  @Test
+  public void testAddEntities_Statuses() throws ModelException {
+    max_score += 3;
+    World world = facade.createWorld(5000, 5000);
+    Ship ship = facade.createShip(1000, 1000, 0, 0, 50, 0, 1.0E20);
+    facade.addShipToWorld(world, ship);
+    Asteroid free = facade.createAsteroid(100, 100, 10, 0, 20);
+    Asteroid overlapsShip = facade.createAsteroid(1040, 1000, 0, 0, 20);
+    Asteroid overlapsFree = facade.createAsteroid(110, 100, 0, 0, 20);
+    Asteroid outOfBounds = facade.createAsteroid(4995, 100, 0, 0, 20);
+    Planetoid planetoid = facade.createPlanetoid(500, 500, 0, 10, 30, 0);
+    boolean[] added = world.addEntities(Arrays.asList(free, overlapsShip, null, overlapsFree, outOfBounds, free, planetoid));
+    assertTrue(Arrays.equals(new boolean[] {true, false, false, false, false, false, true}, added));
+    assertEquals(3, world.getEntities().size());
+    assertEquals(world, facade.getAsteroidWorld(free));
+    assertEquals(world, facade.getPlanetoidWorld(planetoid));
+    assertNull(facade.getAsteroidWorld(overlapsShip));
+    assertFalse(facade.getWorldAsteroids(world).contains(overlapsFree));
+    score += 3;
+  }
+
+  @Test
+  public void testAddEntities_Many() throws ModelException {
+    max_score += 2;
+    World world = facade.createWorld(10000, 10000);
+    List<Asteroid> asteroids = new ArrayList<Asteroid>();
+    for (int i = 0; i < 100; i++)
+      for (int j = 0; j < 100; j++)
+        asteroids.add(facade.createAsteroid(50 + 99 * i, 50 + 99 * j, 0, 0, 10 + (i + j) % 40));
+    boolean[] added = world.addEntities(asteroids);
+    int count = 0;
+    for (int k = 0; k < added.length; k++) {
+      Asteroid asteroid = asteroids.get(k);
+      assertEquals(added[k], world.hasAsEntity(asteroid));
+      if (added[k])
+        count++;
+    }
+    assertEquals(count, world.getEntities().size());
+    for (Asteroid asteroid : facade.getWorldAsteroids(world))
+      for (Asteroid other : facade.getWorldAsteroids(world))
+        assertTrue(asteroid == other || !asteroid.overlap(other));
+    score += 2;
+  }
+
+  @Test
+  public void testEvolve_PlanetoidSplitsAfterCollision() throws ModelException {
+    max_score += 3;
+    World world = facade.createWorld(5000, 5000);
+    Planetoid planetoid = facade.createPlanetoid(1000, 1000, 0, 0, 60, 0);
+    Bullet bullet = facade.createBullet(800, 1000, 50, 0, 5);
+    facade.addPlanetoidToWorld(world, planetoid);
+    facade.addBulletToWorld(world, bullet);
+    facade.evolve(world, 4, null);
+    assertTrue(facade.isTerminatedPlanetoid(planetoid));
+    assertTrue(facade.isTerminatedBullet(bullet));
+    assertFalse(world.hasAsEntity(planetoid));
+    assertFalse(world.hasAsEntity(bullet));
+    Set<? extends Asteroid> asteroids = facade.getWorldAsteroids(world);
+    assertEquals(2, asteroids.size());
+    assertEquals(2, world.getEntities().size());
+    for (Asteroid asteroid : asteroids) {
+      assertEquals(world, facade.getAsteroidWorld(asteroid));
+      assertEquals(30, facade.getAsteroidRadius(asteroid), EPSILON);
+    }
+    score += 3;
+  }
+
+  @Test
+  public void testEvolve_LazyPositionsAcrossBounces() throws ModelException {
+    max_score += 3;
+    World world = facade.createWorld(1000, 1000);
+    Asteroid asteroid = facade.createAsteroid(100, 500, 10, 0, 10);
+    Bullet bullet = facade.createBullet(500, 200, 100, 0, 5);
+    facade.addAsteroidToWorld(world, asteroid);
+    facade.addBulletToWorld(world, bullet);
+    for (int step = 0; step < 60; step++)
+      facade.evolve(world, 0.1, null);
+    assertEquals(160, facade.getAsteroidPosition(asteroid)[0], EPSILON);
+    assertEquals(500, facade.getAsteroidPosition(asteroid)[1], EPSILON);
+    assertEquals(890, facade.getBulletPosition(bullet)[0], EPSILON);
+    assertEquals(-100, facade.getBulletVelocity(bullet)[0], EPSILON);
+    assertEquals(asteroid, world.getInstanceAtPosition(160, 500));
+    assertEquals(bullet, world.getInstanceAtPosition(890, 200));
+    score += 3;
+  }
+
+  @Test
+  public void testEvolve_StaticBlackHoles() throws ModelException {
+    max_score += 3;
+    World world = facade.createWorld(5000, 5000);
+    List<BlackHole> blackHoles = new ArrayList<>();
+    for (int i = 0; i < 10; i++)
+      for (int j = 0; j < 10; j++) {
+        BlackHole blackHole = new BlackHole(300 + 400 * i, 300 + 400 * j, 150);
+        blackHole.setWorld(world);
+        world.addEntity(blackHole);
+        blackHoles.add(blackHole);
+      }
+    BlackHole resized = blackHoles.get(91);
+    resized.setRadius(250);
+    Asteroid asteroid1 = facade.createAsteroid(4500, 300, -100, 0, 20);
+    Asteroid asteroid2 = facade.createAsteroid(4300, 700, -100, 0, 20);
+    facade.addAsteroidToWorld(world, asteroid1);
+    facade.addAsteroidToWorld(world, asteroid2);
+    facade.evolve(world, 1.5, null);
+    assertFalse(facade.isTerminatedAsteroid(asteroid1));
+    assertTrue(facade.isTerminatedAsteroid(asteroid2));
+    facade.evolve(world, 3, null);
+    assertTrue(facade.isTerminatedAsteroid(asteroid1));
+    assertEquals(100, world.getEntities().size());
+    for (int k = 0; k < blackHoles.size(); k++) {
+      assertTrue(world.hasAsEntity(blackHoles.get(k)));
+      assertEquals(300 + 400 * (k / 10), blackHoles.get(k).getXCoordinate(), EPSILON);
+      assertEquals(300 + 400 * (k % 10), blackHoles.get(k).getYCoordinate(), EPSILON);
+    }
+    score += 3;
+  }
+
+  @Test
+  public void testGetMinorPlanets_LiveView() throws ModelException {
+    max_score += 3;
+    World world = facade.createWorld(5000, 5000);
+    Asteroid asteroid = facade.createAsteroid(100, 100, 10, 0, 20);
+    Planetoid planetoid = facade.createPlanetoid(500, 500, 0, 10, 30, 0);
+    Ship ship = facade.createShip(1000, 1000, 0, 0, 50, 0, 1.0E20);
+    facade.addAsteroidToWorld(world, asteroid);
+    facade.addShipToWorld(world, ship);
+    Set<? extends MinorPlanet> minorPlanets = world.getEntitiesOfType(MinorPlanet.class);
+    assertEquals(1, minorPlanets.size());
+    facade.addPlanetoidToWorld(world, planetoid);
+    assertEquals(2, minorPlanets.size());
+    assertTrue(minorPlanets.contains(asteroid));
+    assertTrue(minorPlanets.contains(planetoid));
+    assertFalse(minorPlanets.contains(ship));
+    for (MinorPlanet minorPlanet : minorPlanets)
+      world.removeEntity(minorPlanet);
+    assertTrue(minorPlanets.isEmpty());
+    assertTrue(facade.getWorldAsteroids(world).isEmpty());
+    assertEquals(1, facade.getWorldShips(world).size());
+    score += 3;
+  }
+
   @Test
   public void testGetBullets() throws ModelException {
     max_score += 2;